@@ -0,0 +1,549 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Набір мікробенчмарків для структур даних та їх аналогів з {@code java.util}.
+ * Для кожного сценарію вимірюється пропускна здатність (операцій за секунду)
+ * та кількість байтів, виділених у купі на одну операцію.
+ * <p>
+ * Основний спосіб запуску - модуль JMH ({@code src/jmh/java}), що виконує ці ж сценарії
+ * з профілювальником gc:
+ * <pre>
+ * mvn -Pjmh package
+ * java -jar target/benchmarks.jar -prof gc -rf json -rff jmh-result.json
+ * </pre>
+ * Без збирача проєкту сценарії можна запустити безпосередньо:
+ * <pre>
+ * javac -encoding UTF-8 -d out src/*.java bench/*.java
+ * java -Xmx8g -cp out Benchmarks [регулярний вираз імені сценарію] [розміри через кому]
+ * </pre>
+ * За замовчуванням виконуються всі сценарії на розмірах 1K, 1M та 10M елементів.
+ * З властивістю {@code -Ddatastructures.metrics=true} після кожного сценарію виводяться
+ * значення лічильників {@link Metrics} з розрахунку на одну операцію.
+ * Паралельні сценарії використовують спільний пул ForkJoinPool, кількість потоків якого
+ * задається властивістю {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism=N}.
+ */
+
+public class Benchmarks {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long WARMUP_NANOS = 500_000_000L;
+    private static final int MIN_OPS_PER_ITERATION = 1_000_000;
+    private static final int QUADRATIC_MAX_SIZE = 100_000;
+    private static final int LINEAR_SCAN_MAX_SIZE = 10_000;
+    private static final int[] DEFAULT_SIZES = {1_000, 1_000_000, 10_000_000};
+
+    private static volatile long sink;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Вимірювана операція. Виконує {@code size} елементарних операцій
+     * та повертає контрольну суму, щоб JIT не відкинув результат
+     */
+
+    private interface Op {
+        long run();
+    }
+
+    /**
+     * Сценарій бенчмарку. Готує стан, який не входить у вимірювання,
+     * та повертає вимірювану операцію, або {@code null}, якщо сценарій
+     * не виконується на такому розмірі (наприклад, через квадратичну складність)
+     */
+
+    private interface Case {
+        Op prepare(Integer[] keys);
+    }
+
+    private static final Map<String, Case> CASES = new LinkedHashMap<>();
+
+    static {
+        CASES.put("ArrayList.add", keys -> () -> {
+            ArrayList<Integer> list = new ArrayList<>();
+            for (Integer key : keys) list.add(key);
+            return list.size();
+        });
+        CASES.put("j.u.ArrayList.add", keys -> () -> {
+            java.util.ArrayList<Integer> list = new java.util.ArrayList<>();
+            for (Integer key : keys) list.add(key);
+            return list.size();
+        });
+        CASES.put("ArrayList.add (x1.5)", keys -> () -> {
+            ArrayList<Integer> list = new ArrayList<>(10, GrowthPolicy.factor(1.5));
+            for (Integer key : keys) list.add(key);
+            return list.size();
+        });
+        CASES.put("ArrayList.add (capped doubling)", keys -> () -> {
+            ArrayList<Integer> list = new ArrayList<>(10, GrowthPolicy.cappedDoubling(1 << 20));
+            for (Integer key : keys) list.add(key);
+            return list.size();
+        });
+        CASES.put("SegmentedArrayList.add", keys -> () -> {
+            SegmentedArrayList<Integer> list = new SegmentedArrayList<>();
+            for (Integer key : keys) list.add(key);
+            return list.size();
+        });
+        CASES.put("ArrayList.get", keys -> {
+            ArrayList<Integer> list = new ArrayList<>(keys.length);
+            for (Integer key : keys) list.add(key);
+            return () -> {
+                long sum = 0;
+                for (int i = 0; i < keys.length; i++) sum += list.get(i);
+                return sum;
+            };
+        });
+        CASES.put("j.u.ArrayList.get", keys -> {
+            java.util.ArrayList<Integer> list = new java.util.ArrayList<>(keys.length);
+            Collections.addAll(list, keys);
+            return () -> {
+                long sum = 0;
+                for (int i = 0; i < keys.length; i++) sum += list.get(i);
+                return sum;
+            };
+        });
+        CASES.put("IntArrayList.add", keys -> () -> {
+            IntArrayList list = new IntArrayList();
+            for (int i = 0; i < keys.length; i++) list.add(i);
+            return list.size();
+        });
+        CASES.put("IntArrayList.get", keys -> {
+            IntArrayList list = new IntArrayList(keys.length);
+            for (int i = 0; i < keys.length; i++) list.add(i);
+            return () -> {
+                long sum = 0;
+                for (int i = 0; i < keys.length; i++) sum += list.get(i);
+                return sum;
+            };
+        });
+        CASES.put("OffHeapArrayList.add", keys -> () -> {
+            try (OffHeapArrayList<Integer> list = new OffHeapArrayList<>(RecordCodec.INT)) {
+                for (Integer key : keys) list.add(key);
+                return list.size();
+            }
+        });
+        CASES.put("ArrayList.find", keys -> {
+            ArrayList<Integer> list = new ArrayList<>(keys.length);
+            for (Integer key : keys) list.add(key);
+            Integer last = keys[keys.length - 1];
+            return () -> list.find(last);
+        });
+        CASES.put("ArrayList.contains", keys -> {
+            if (keys.length > LINEAR_SCAN_MAX_SIZE) return null;
+            ArrayList<Integer> list = new ArrayList<>(keys.length);
+            for (int i = 0; i < keys.length; i += 2) list.add(keys[i]);
+            return () -> {
+                long found = 0;
+                for (Integer key : keys) if (list.contains(key)) found++;
+                return found;
+            };
+        });
+        CASES.put("ArrayList.contains (hash index)", keys -> {
+            ArrayList<Integer> list = new ArrayList<>(keys.length);
+            for (int i = 0; i < keys.length; i += 2) list.add(keys[i]);
+            list.enableHashIndex();
+            return () -> {
+                long found = 0;
+                for (Integer key : keys) if (list.contains(key)) found++;
+                return found;
+            };
+        });
+        CASES.put("ArrayList.add (hash index)", keys -> () -> {
+            ArrayList<Integer> list = new ArrayList<>();
+            list.enableHashIndex();
+            for (Integer key : keys) list.add(key);
+            return list.size();
+        });
+        CASES.put("ArrayList.parallelFind", keys -> {
+            ArrayList<Integer> list = new ArrayList<>(keys.length);
+            for (Integer key : keys) list.add(key);
+            Integer last = keys[keys.length - 1];
+            return () -> list.parallelFind(last);
+        });
+        CASES.put("ArrayList.reduce", keys -> {
+            ArrayList<Integer> list = new ArrayList<>(keys.length);
+            for (Integer key : keys) list.add(key);
+            return () -> list.reduce(0, (a, b) -> a ^ b);
+        });
+        CASES.put("ArrayList.add(index)", keys -> keys.length > QUADRATIC_MAX_SIZE ? null : () -> {
+            ArrayList<Integer> list = new ArrayList<>();
+            list.add(keys[0]);
+            for (int i = 1; i < keys.length; i++) list.add(keys[i], editPosition(i));
+            return list.size();
+        });
+        CASES.put("GapArrayList.add(index)", keys -> () -> {
+            GapArrayList<Integer> list = new GapArrayList<>();
+            list.add(keys[0]);
+            for (int i = 1; i < keys.length; i++) list.add(keys[i], editPosition(i));
+            return list.size();
+        });
+        CASES.put("GapArrayList.add/remove(index)", keys -> {
+            GapArrayList<Integer> list = new GapArrayList<>(keys.length);
+            for (Integer key : keys) list.add(key);
+            return () -> {
+                for (int i = 1; i < keys.length; i++) {
+                    int index = editPosition(i);
+                    list.add(keys[i], index);
+                    list.remove(index + 1);
+                }
+                return list.size();
+            };
+        });
+        CASES.put("ArrayList.remove", keys -> () -> {
+            ArrayList<Integer> list = new ArrayList<>(keys.length);
+            for (Integer key : keys) list.add(key);
+            while (!list.isEmpty()) list.remove(list.size() - 1);
+            return list.size();
+        });
+        CASES.put("j.u.ArrayList.remove", keys -> () -> {
+            java.util.ArrayList<Integer> list = new java.util.ArrayList<>(keys.length);
+            Collections.addAll(list, keys);
+            while (!list.isEmpty()) list.remove(list.size() - 1);
+            return list.size();
+        });
+
+        CASES.put("LinkedDequeue.offer/poll", keys -> () -> {
+            LinkedDequeue<Integer> deque = new LinkedDequeue<>();
+            for (Integer key : keys) deque.offerLast(key);
+            long sum = 0;
+            while (!deque.isEmpty()) sum += deque.pollFirst();
+            return sum;
+        });
+        CASES.put("ArrayDequeue.offer/poll", keys -> () -> {
+            ArrayDequeue<Integer> deque = new ArrayDequeue<>();
+            for (Integer key : keys) deque.offerLast(key);
+            long sum = 0;
+            while (!deque.isEmpty()) sum += deque.pollFirst();
+            return sum;
+        });
+        CASES.put("ArrayDeque.offer/poll", keys -> () -> {
+            ArrayDeque<Integer> deque = new ArrayDeque<>();
+            for (Integer key : keys) deque.offerLast(key);
+            long sum = 0;
+            while (!deque.isEmpty()) sum += deque.pollFirst();
+            return sum;
+        });
+
+        CASES.put("Heap.add/poll", keys -> () -> {
+            Heap<Integer, Integer> heap = new Heap<>();
+            for (Integer key : keys) heap.add(key, key);
+            long sum = 0;
+            while (!heap.isEmpty()) sum += heap.poll();
+            return sum;
+        });
+        CASES.put("Heap.heapify/poll", keys -> () -> {
+            Heap<Integer, Integer> heap = new Heap<>(keys, keys);
+            long sum = 0;
+            while (!heap.isEmpty()) sum += heap.poll();
+            return sum;
+        });
+        CASES.put("Heap.addAll/pollN", keys -> () -> {
+            Heap<Integer, Integer> heap = new Heap<>();
+            Integer[] batch = new Integer[1024];
+            for (int start = 0; start < keys.length; start += batch.length) {
+                int length = Math.min(batch.length, keys.length - start);
+                Integer[] chunk = length == batch.length ? batch : new Integer[length];
+                System.arraycopy(keys, start, chunk, 0, length);
+                heap.addAll(chunk, chunk);
+            }
+            long sum = 0;
+            int polled;
+            while ((polled = heap.pollN(batch.length, batch)) > 0) {
+                for (int i = 0; i < polled; i++) sum += batch[i];
+            }
+            return sum;
+        });
+        CASES.put("Heap.add/poll top 100", keys -> () -> {
+            Heap<Integer, Integer> heap = new Heap<>();
+            for (Integer key : keys) heap.add(key, key);
+            long sum = 0;
+            for (int i = 0; i < 100 && !heap.isEmpty(); i++) sum += heap.poll();
+            return sum;
+        });
+        CASES.put("TopK(100).offer", keys -> () -> {
+            TopK<Integer, Integer> topK = new TopK<>(100);
+            for (Integer key : keys) topK.offer(key, key);
+            return topK.threshold();
+        });
+        CASES.put("TopK(100) parallel collector", keys -> () ->
+                Arrays.stream(keys).parallel().collect(TopK.collector(100, (Integer key) -> key)).threshold());
+        CASES.put("DaryHeap(4).add/poll", keys -> () -> {
+            DaryHeap<Integer, Integer> heap = new DaryHeap<>(4, 16);
+            for (Integer key : keys) heap.add(key, key);
+            long sum = 0;
+            while (!heap.isEmpty()) sum += heap.poll();
+            return sum;
+        });
+        CASES.put("DaryHeap(8).add/poll", keys -> () -> {
+            DaryHeap<Integer, Integer> heap = new DaryHeap<>(8, 16);
+            for (Integer key : keys) heap.add(key, key);
+            long sum = 0;
+            while (!heap.isEmpty()) sum += heap.poll();
+            return sum;
+        });
+        CASES.put("LongHeap.add/poll", keys -> () -> {
+            LongHeap<Integer> heap = new LongHeap<>();
+            for (Integer key : keys) heap.add(key, key);
+            long sum = 0;
+            while (!heap.isEmpty()) sum += heap.poll();
+            return sum;
+        });
+        CASES.put("PriorityQueue.add/poll", keys -> () -> {
+            PriorityQueue<Integer> queue = new PriorityQueue<>(keys.length, Collections.reverseOrder());
+            Collections.addAll(queue, keys);
+            long sum = 0;
+            while (!queue.isEmpty()) sum += queue.poll();
+            return sum;
+        });
+
+        CASES.put("BinaryTree.add", keys -> () -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            return tree.size();
+        });
+        CASES.put("BinaryTree(balanced).add", keys -> () -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>(true);
+            for (Integer key : keys) tree.add(key, key);
+            return tree.size();
+        });
+        CASES.put("PersistentBinaryTree.add", keys -> () -> {
+            PersistentBinaryTree<Integer, Integer> tree = new PersistentBinaryTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            return tree.size();
+        });
+        CASES.put("BPlusTree.add", keys -> () -> {
+            BPlusTree<Integer, Integer> tree = new BPlusTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            return tree.size();
+        });
+        CASES.put("TreeMap.put", keys -> () -> {
+            TreeMap<Integer, Integer> map = new TreeMap<>();
+            for (Integer key : keys) map.put(key, key);
+            return map.size();
+        });
+        CASES.put("BinaryTree.get", keys -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            return () -> {
+                long sum = 0;
+                for (Integer key : keys) sum += tree.get(key);
+                return sum;
+            };
+        });
+        CASES.put("BinaryTree(balanced).get", keys -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>(true);
+            for (Integer key : keys) tree.add(key, key);
+            return () -> {
+                long sum = 0;
+                for (Integer key : keys) sum += tree.get(key);
+                return sum;
+            };
+        });
+        CASES.put("BinaryTree(balanced).select", keys -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>(true);
+            for (Integer key : keys) tree.add(key, key);
+            return () -> {
+                long sum = 0;
+                for (Integer key : keys) sum += tree.select(key).getValue();
+                return sum;
+            };
+        });
+        CASES.put("BinaryTree(balanced).rank", keys -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>(true);
+            for (Integer key : keys) tree.add(key, key);
+            return () -> {
+                long sum = 0;
+                for (Integer key : keys) sum += tree.rank(key);
+                return sum;
+            };
+        });
+        CASES.put("PersistentBinaryTree.get", keys -> {
+            PersistentBinaryTree<Integer, Integer> tree = new PersistentBinaryTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            return () -> {
+                long sum = 0;
+                for (Integer key : keys) sum += tree.get(key);
+                return sum;
+            };
+        });
+        CASES.put("BPlusTree.get", keys -> {
+            BPlusTree<Integer, Integer> tree = new BPlusTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            return () -> {
+                long sum = 0;
+                for (Integer key : keys) sum += tree.get(key);
+                return sum;
+            };
+        });
+        CASES.put("TreeMap.get", keys -> {
+            TreeMap<Integer, Integer> map = new TreeMap<>();
+            for (Integer key : keys) map.put(key, key);
+            return () -> {
+                long sum = 0;
+                for (Integer key : keys) sum += map.get(key);
+                return sum;
+            };
+        });
+        CASES.put("BinaryTree.add/remove", keys -> () -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            for (Integer key : keys) tree.remove(key);
+            return tree.size();
+        });
+        CASES.put("BinaryTree(balanced).add/remove", keys -> () -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>(true);
+            for (Integer key : keys) tree.add(key, key);
+            for (Integer key : keys) tree.remove(key);
+            return tree.size();
+        });
+        CASES.put("BPlusTree.add/remove", keys -> () -> {
+            BPlusTree<Integer, Integer> tree = new BPlusTree<>();
+            for (Integer key : keys) tree.add(key, key);
+            for (Integer key : keys) tree.remove(key);
+            return tree.size();
+        });
+        CASES.put("TreeMap.put/remove", keys -> () -> {
+            TreeMap<Integer, Integer> map = new TreeMap<>();
+            for (Integer key : keys) map.put(key, key);
+            for (Integer key : keys) map.remove(key);
+            return map.size();
+        });
+
+        CASES.put("GenericContainer.set/get", keys -> {
+            GenericContainer<Integer> container = new GenericContainer<>(keys.length);
+            return () -> {
+                for (int i = 0; i < keys.length; i++) container.set(i, keys[i]);
+                long sum = 0;
+                for (int i = 0; i < keys.length; i++) sum += container.get(i);
+                return sum;
+            };
+        });
+        CASES.put("Object[].set/get", keys -> {
+            Object[] array = new Object[keys.length];
+            return () -> {
+                for (int i = 0; i < keys.length; i++) array[i] = keys[i];
+                long sum = 0;
+                for (int i = 0; i < keys.length; i++) sum += (Integer) array[i];
+                return sum;
+            };
+        });
+    }
+
+    public static void main(String[] args) {
+        Pattern filter = Pattern.compile(args.length > 0 ? args[0] : ".*");
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 1) {
+            String[] parts = args[1].split(",");
+            sizes = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                sizes[i] = Integer.parseInt(parts[i].trim());
+            }
+        }
+
+        System.out.printf("%-34s %10s %16s %12s%n", "benchmark", "size", "ops/s", "bytes/op");
+        for (int size : sizes) {
+            Integer[] keys = shuffledKeys(size);
+            for (Map.Entry<String, Case> entry : CASES.entrySet()) {
+                if (filter.matcher(entry.getKey()).find()) {
+                    measure(entry.getKey(), entry.getValue(), keys);
+                }
+            }
+        }
+    }
+
+    /**
+     * Готує сценарій для запуску зовнішнім засобом вимірювання (модулем JMH).
+     * Повернута операція виконує {@code size} елементарних операцій над перемішаними ключами
+     * @param name ім'я сценарію
+     * @param size кількість елементів
+     * @return вимірювана операція, або {@code null}, якщо сценарій не виконується на такому розмірі
+     * @throws IllegalArgumentException якщо сценарію з таким ім'ям немає
+     */
+
+    public static LongSupplier prepare(String name, int size) {
+        Case benchmarkCase = CASES.get(name);
+        if (benchmarkCase == null) {
+            throw new IllegalArgumentException("Невідомий сценарій: " + name);
+        }
+        Op op = benchmarkCase.prepare(shuffledKeys(size));
+
+        return op == null ? null : op::run;
+    }
+
+    /**
+     * Позиція вставки для моделі редактора: курсор знаходиться посередині списку
+     * і кожні 64 вставки переміщується на кілька позицій
+     */
+
+    private static int editPosition(int i) {
+        return i / 2 - (i >>> 6) % 8;
+    }
+
+    private static Integer[] shuffledKeys(int size) {
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        Random random = new Random(42);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+
+        return keys;
+    }
+
+    private static void measure(String name, Case benchmarkCase, Integer[] keys) {
+        Op op = benchmarkCase.prepare(keys);
+        if (op == null) {
+            return;
+        }
+        int repetitions = Math.max(1, MIN_OPS_PER_ITERATION / keys.length);
+        long checksum = 0;
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        for (int i = 0; i < WARMUP_ITERATIONS || System.nanoTime() < warmupEnd; i++) {
+            checksum += op.run();
+        }
+
+        Metrics.reset();
+        long threadId = Thread.currentThread().getId();
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int r = 0; r < repetitions; r++) {
+                checksum += op.run();
+            }
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            allocated += THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+        }
+        sink = checksum;
+
+        long opsPerIteration = (long) keys.length * repetitions;
+        double opsPerSecond = opsPerIteration * 1e9 / bestNanos;
+        double bytesPerOp = (double) allocated / MEASURE_ITERATIONS / opsPerIteration;
+        System.out.printf("%-34s %10d %16.0f %12.1f%n", name, keys.length, opsPerSecond, bytesPerOp);
+        if (Metrics.ENABLED) {
+            long totalOps = opsPerIteration * MEASURE_ITERATIONS;
+            Metrics.snapshot().forEach((counter, value) -> {
+                if (value > 0) {
+                    System.out.printf("    %-30s %27.4f /op%n", counter, (double) value / totalOps);
+                }
+            });
+        }
+    }
+}
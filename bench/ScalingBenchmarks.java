@@ -0,0 +1,599 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Багатопотокові бенчмарки конкурентних структур даних.
+ * Кожен сценарій запускається з кількістю потоків від 1 до кількості доступних ядер,
+ * вимірюється пропускна здатність та перевіряється, що кожен елемент
+ * був вилучений рівно один раз.
+ * <p>
+ * Запуск:
+ * <pre>
+ * javac -encoding UTF-8 -d out src/*.java bench/*.java
+ * java -cp out ScalingBenchmarks [регулярний вираз імені сценарію] [кількість елементів] [максимум потоків]
+ * </pre>
+ */
+
+public class ScalingBenchmarks {
+
+    private static final int ITERATIONS = 5;
+    private static final int DEFAULT_ITEMS = 2_000_000;
+    private static final int SNAPSHOT_WINDOW = 10_000;
+
+    /**
+     * Сценарій бенчмарку. Виконує {@code items.length} операцій над структурою даних,
+     * використовуючи задану кількість потоків, після чого перевіряє її стан.
+     * Повертає тривалість виконання операцій у наносекундах без урахування підготовки та перевірки
+     * @throws IllegalStateException якщо стан структури не відповідає виконаним операціям
+     */
+
+    private interface Scenario {
+        long run(int threads, Integer[] items) throws InterruptedException;
+    }
+
+    private static final Map<String, Scenario> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("WorkStealingDequeue", (threads, items) -> {
+            WorkStealingDequeue<Integer> deque = new WorkStealingDequeue<>();
+            return runOwnerAndThieves(threads, items, deque::offerLast, deque::pollLast, deque::pollFirst);
+        });
+        SCENARIOS.put("synchronized LinkedDequeue", (threads, items) -> {
+            LinkedDequeue<Integer> deque = new LinkedDequeue<>();
+            return runOwnerAndThieves(threads, items,
+                    item -> {
+                        synchronized (deque) {
+                            deque.offerLast(item);
+                        }
+                    },
+                    () -> {
+                        synchronized (deque) {
+                            return deque.pollLast();
+                        }
+                    },
+                    () -> {
+                        synchronized (deque) {
+                            return deque.pollFirst();
+                        }
+                    });
+        });
+        SCENARIOS.put("ConcurrentSkipList 90/10", (threads, items) -> {
+            ConcurrentSkipList<Integer, Integer> list = new ConcurrentSkipList<>();
+            return runReadWriteMix(threads, items, new OrderedMap() {
+                public Integer get(Integer key) {
+                    try {
+                        return list.get(key);
+                    } catch (NoSuchElementException e) {
+                        return null;
+                    }
+                }
+
+                public void add(Integer key, Integer value) {
+                    list.add(key, value);
+                }
+
+                public void remove(Integer key) {
+                    list.remove(key);
+                }
+            });
+        });
+        SCENARIOS.put("synchronized BinaryTree 90/10", (threads, items) -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>(true);
+            return runReadWriteMix(threads, items, new OrderedMap() {
+                public synchronized Integer get(Integer key) {
+                    try {
+                        return tree.get(key);
+                    } catch (NoSuchElementException e) {
+                        return null;
+                    }
+                }
+
+                public synchronized void add(Integer key, Integer value) {
+                    tree.add(key, value);
+                }
+
+                public synchronized void remove(Integer key) {
+                    tree.remove(key);
+                }
+            });
+        });
+        SCENARIOS.put("ConcurrentSkipListMap 90/10", (threads, items) -> {
+            ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+            return runReadWriteMix(threads, items, new OrderedMap() {
+                public Integer get(Integer key) {
+                    return map.get(key);
+                }
+
+                public void add(Integer key, Integer value) {
+                    map.put(key, value);
+                }
+
+                public void remove(Integer key) {
+                    map.remove(key);
+                }
+            });
+        });
+        SCENARIOS.put("PersistentBinaryTree snapshots", (threads, items) -> {
+            PersistentBinaryTree<Integer, Integer> tree = new PersistentBinaryTree<>();
+            return runWriterAndSnapshotReaders(threads, items, new VersionedMap() {
+                public void add(Integer key) {
+                    tree.add(key, key);
+                }
+
+                public void remove(Integer key) {
+                    tree.remove(key);
+                }
+
+                public Iterator<Integer> snapshot() {
+                    return tree.snapshot().stream().map(Map.Entry::getKey).iterator();
+                }
+            });
+        });
+        SCENARIOS.put("BinaryTree copy under lock", (threads, items) -> {
+            BinaryTree<Integer, Integer> tree = new BinaryTree<>(true);
+            return runWriterAndSnapshotReaders(threads, items, new VersionedMap() {
+                public synchronized void add(Integer key) {
+                    tree.add(key, key);
+                }
+
+                public synchronized void remove(Integer key) {
+                    tree.remove(key);
+                }
+
+                public Iterator<Integer> snapshot() {
+                    Integer[] keys;
+                    synchronized (this) {
+                        keys = new Integer[tree.size()];
+                        tree.toSortedArrays(keys, new Integer[keys.length]);
+                    }
+                    return Arrays.asList(keys).iterator();
+                }
+            });
+        });
+        SCENARIOS.put("ConcurrentHeap add/take", (threads, items) -> {
+            ConcurrentHeap<Integer, Integer> heap = new ConcurrentHeap<>();
+            return runAddTake(threads, items, heap::put, heap::take);
+        });
+        SCENARIOS.put("synchronized Heap add/poll", (threads, items) -> {
+            Heap<Integer, Integer> heap = new Heap<>();
+            return runAddTake(threads, items,
+                    (key, value) -> {
+                        synchronized (heap) {
+                            heap.add(key, value);
+                        }
+                    },
+                    () -> {
+                        synchronized (heap) {
+                            return heap.poll();
+                        }
+                    });
+        });
+        SCENARIOS.put("PriorityBlockingQueue add/take", (threads, items) -> {
+            PriorityBlockingQueue<Integer> queue = new PriorityBlockingQueue<>();
+            return runAddTake(threads, items, (key, value) -> queue.put(value), queue::take);
+        });
+    }
+
+    /**
+     * Спільний інтерфейс впорядкованих асоціативних масивів для сценаріїв читання та запису
+     */
+
+    private interface OrderedMap {
+        /** Повертає значення за ключем, або {@code null} якщо ключа немає */
+        Integer get(Integer key);
+
+        void add(Integer key, Integer value);
+
+        void remove(Integer key);
+    }
+
+    private interface VersionedMap {
+        void add(Integer key);
+
+        void remove(Integer key);
+
+        /** Повертає ключі незмінної версії структури в порядку зростання */
+        Iterator<Integer> snapshot();
+    }
+
+    private interface Put {
+        void put(Integer key, Integer value) throws InterruptedException;
+    }
+
+    private interface Take {
+        Integer take() throws InterruptedException;
+    }
+
+    private interface Offer {
+        void offer(Integer item);
+    }
+
+    private interface Poll {
+        Integer poll();
+    }
+
+    /**
+     * Потік-власник вставляє елементи та забирає кожен другий з хвоста,
+     * інші {@code threads - 1} потоків забирають елементи з голови
+     */
+
+    private static long runOwnerAndThieves(int threads, Integer[] items,
+                                           Offer offer, Poll ownerPoll, Poll thiefPoll) throws InterruptedException {
+        AtomicIntegerArray seen = new AtomicIntegerArray(items.length);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        Thread[] thieves = new Thread[threads - 1];
+        for (int i = 0; i < thieves.length; i++) {
+            thieves[i] = new Thread(() -> {
+                awaitQuietly(start);
+                while (true) {
+                    Integer item = thiefPoll.poll();
+                    if (item != null) {
+                        seen.incrementAndGet(item);
+                    } else if (done.get()) {
+                        return;
+                    }
+                }
+            });
+            thieves[i].setUncaughtExceptionHandler((thread, e) -> failure.compareAndSet(null, e));
+            thieves[i].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (int i = 0; i < items.length; i++) {
+            offer.offer(items[i]);
+            if ((i & 1) == 1) {
+                Integer item = ownerPoll.poll();
+                if (item != null) seen.incrementAndGet(item);
+            }
+        }
+        Integer item;
+        while ((item = ownerPoll.poll()) != null) {
+            seen.incrementAndGet(item);
+        }
+        done.set(true);
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        rethrow(failure);
+
+        for (int i = 0; i < seen.length(); i++) {
+            if (seen.get(i) != 1) {
+                throw new IllegalStateException("Елемент " + i + " вилучено " + seen.get(i) + " раз(и)");
+            }
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Кожен потік виконує свою частку операцій: 90% читань випадкових ключів
+     * та 10% записів, що додають або видаляють ключі з його власної частини діапазону.
+     * Для кожної операції записується час її початку та завершення. Після вимірювання
+     * кожне читання перевіряється на лінеаризованість відносно історії записів його ключа:
+     * прочитаний стан повинен бути станом після останнього запису, завершеного до початку читання,
+     * або після одного із записів, що перетинаються з читанням у часі. Наприкінці вміст
+     * структури порівнюється з очікуваним
+     */
+
+    private static long runReadWriteMix(int threads, Integer[] items, OrderedMap map) throws InterruptedException {
+        boolean[] present = new boolean[items.length];
+        for (int i = 0; i < items.length; i += 2) {
+            map.add(items[i], items[i]);
+            present[i] = true;
+        }
+
+        OperationLog[] logs = new OperationLog[threads];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            logs[t] = new OperationLog((items.length - id + threads - 1) / threads);
+            workers[t] = new Thread(() -> {
+                awaitQuietly(start);
+                OperationLog log = logs[id];
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int op = id; op < items.length; op += threads) {
+                    if (random.nextInt(10) > 0) {
+                        int index = random.nextInt(items.length);
+                        long startNanos = System.nanoTime();
+                        Integer value = map.get(items[index]);
+                        long endNanos = System.nanoTime();
+                        if (value != null && !value.equals(items[index])) {
+                            throw new IllegalStateException("За ключем " + items[index] + " знайдено значення " + value);
+                        }
+                        log.record(index, false, value != null, startNanos, endNanos);
+                    } else {
+                        int index = id + threads * random.nextInt((items.length - 1 - id) / threads + 1);
+                        long startNanos = System.nanoTime();
+                        if (present[index]) {
+                            map.remove(items[index]);
+                        } else {
+                            map.add(items[index], items[index]);
+                        }
+                        long endNanos = System.nanoTime();
+                        present[index] = !present[index];
+                        log.record(index, true, present[index], startNanos, endNanos);
+                    }
+                }
+            });
+            workers[t].setUncaughtExceptionHandler((thread, e) -> failure.compareAndSet(null, e));
+            workers[t].start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        rethrow(failure);
+
+        checkReads(items.length, logs);
+        for (int i = 0; i < items.length; i++) {
+            if ((map.get(items[i]) != null) != present[i]) {
+                throw new IllegalStateException("Ключ " + i + (present[i] ? " втрачено" : " не видалено"));
+            }
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Журнал операцій одного потоку: позиція ключа, тип операції, стан ключа
+     * після запису або прочитаний стан, час початку та завершення
+     */
+
+    private static final class OperationLog {
+        final int[] indexes;
+        final boolean[] writes;
+        final boolean[] states;
+        final long[] starts;
+        final long[] ends;
+        int size;
+
+        OperationLog(int capacity) {
+            indexes = new int[capacity];
+            writes = new boolean[capacity];
+            states = new boolean[capacity];
+            starts = new long[capacity];
+            ends = new long[capacity];
+        }
+
+        void record(int index, boolean write, boolean state, long start, long end) {
+            indexes[size] = index;
+            writes[size] = write;
+            states[size] = state;
+            starts[size] = start;
+            ends[size++] = end;
+        }
+    }
+
+    /**
+     * Групує записи за ключами та перевіряє кожне читання відносно історії записів його ключа.
+     * Записи одного ключа виконує один потік, тому в журналі вони вже впорядковані за часом
+     */
+
+    private static void checkReads(int keys, OperationLog[] logs) {
+        int[] offsets = new int[keys + 1];
+        for (OperationLog log : logs) {
+            for (int i = 0; i < log.size; i++) {
+                if (log.writes[i]) offsets[log.indexes[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < keys; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] cursor = Arrays.copyOf(offsets, keys);
+        long[] writeStarts = new long[offsets[keys]];
+        long[] writeEnds = new long[offsets[keys]];
+        boolean[] writeStates = new boolean[offsets[keys]];
+        for (OperationLog log : logs) {
+            for (int i = 0; i < log.size; i++) {
+                if (!log.writes[i]) continue;
+                int slot = cursor[log.indexes[i]]++;
+                writeStarts[slot] = log.starts[i];
+                writeEnds[slot] = log.ends[i];
+                writeStates[slot] = log.states[i];
+            }
+        }
+
+        for (OperationLog log : logs) {
+            for (int i = 0; i < log.size; i++) {
+                if (log.writes[i]) continue;
+                int index = log.indexes[i];
+                boolean state = index % 2 == 0;
+                boolean allowed = false;
+                for (int w = offsets[index]; w < offsets[index + 1] && writeStarts[w] <= log.ends[i]; w++) {
+                    if (writeEnds[w] < log.starts[i]) {
+                        state = writeStates[w];
+                    } else {
+                        allowed |= writeStates[w] == log.states[i];
+                    }
+                }
+                if (!allowed && state != log.states[i]) {
+                    throw new IllegalStateException("Читання ключа " + index + (log.states[i] ? " знайшло" : " не знайшло")
+                            + " його, що неможливо в часовому інтервалі читання");
+                }
+            }
+        }
+    }
+
+    /**
+     * Один потік-записувач додає елементи по черзі, видаляючи елемент, доданий {@code SNAPSHOT_WINDOW}
+     * кроків тому, а решта {@code threads - 1} потоків безперервно отримують знімки структури
+     * та обходять їх. Вимірюється час записувача; кожен знімок перевіряється на те,
+     * що його ключі утворюють неперервний зростаючий діапазон відповідного розміру;
+     * помилка будь-якого читача повторно кидається після завершення потоків
+     */
+
+    private static long runWriterAndSnapshotReaders(int threads, Integer[] items, VersionedMap map) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[threads - 1];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                awaitQuietly(start);
+                while (!done.get()) {
+                    Iterator<Integer> keys = map.snapshot();
+                    if (!keys.hasNext()) continue;
+                    int first = keys.next();
+                    int last = first;
+                    int count = 1;
+                    while (keys.hasNext()) {
+                        int key = keys.next();
+                        if (key != last + 1) {
+                            throw new IllegalStateException("Знімок містить " + key + " після " + last);
+                        }
+                        last = key;
+                        count++;
+                    }
+                    if (count > SNAPSHOT_WINDOW + 1) {
+                        throw new IllegalStateException("Знімок містить " + count + " ключів");
+                    }
+                }
+            });
+            readers[t].setUncaughtExceptionHandler((thread, e) -> failure.compareAndSet(null, e));
+            readers[t].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (int i = 0; i < items.length; i++) {
+            map.add(items[i]);
+            if (i >= SNAPSHOT_WINDOW) {
+                map.remove(items[i - SNAPSHOT_WINDOW]);
+            }
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        rethrow(failure);
+
+        return elapsed;
+    }
+
+    /**
+     * Модель спільної черги готових задач: перша половина елементів утворює початковий запас задач,
+     * після чого кожен потік додає свою частку другої половини і після кожного додавання забирає
+     * один елемент з черги. Оскільки потік забирає елемент лише після власного додавання,
+     * черга ніколи не блокує всі потоки одночасно. Залишок задач вилучається після вимірювання
+     */
+
+    private static long runAddTake(int threads, Integer[] items, Put put, Take take) throws InterruptedException {
+        AtomicIntegerArray seen = new AtomicIntegerArray(items.length);
+        int backlog = items.length / 2;
+        for (int i = 0; i < backlog; i++) {
+            put.put(priority(items, i), items[i]);
+        }
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = backlog + t;
+            workers[t] = new Thread(() -> {
+                awaitQuietly(start);
+                try {
+                    for (int i = id; i < items.length; i += threads) {
+                        put.put(priority(items, i), items[i]);
+                        Integer item = take.take();
+                        if (item == null) {
+                            throw new IllegalStateException("Черга пуста після додавання");
+                        }
+                        seen.incrementAndGet(item);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            workers[t].setUncaughtExceptionHandler((thread, e) -> failure.compareAndSet(null, e));
+            workers[t].start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        rethrow(failure);
+
+        for (int i = 0; i < backlog; i++) {
+            seen.incrementAndGet(take.take());
+        }
+        for (int i = 0; i < seen.length(); i++) {
+            if (seen.get(i) != 1) {
+                throw new IllegalStateException("Елемент " + i + " вилучено " + seen.get(i) + " раз(и)");
+            }
+        }
+
+        return elapsed;
+    }
+
+    private static Integer priority(Integer[] items, int index) {
+        return items[(int) ((index * 2654435761L) % items.length)];
+    }
+
+    /**
+     * Повторно кидає першу помилку, що виникла в робочих потоках сценарію
+     * @throws IllegalStateException якщо хоча б один потік завершився з помилкою
+     */
+
+    private static void rethrow(AtomicReference<Throwable> failure) {
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new IllegalStateException("Робочий потік завершився з помилкою", cause);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Pattern filter = Pattern.compile(args.length > 0 ? args[0] : ".*");
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITEMS;
+        Integer[] items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-34s %8s %16s%n", "benchmark", "threads", "ops/s");
+        for (Map.Entry<String, Scenario> entry : SCENARIOS.entrySet()) {
+            if (!filter.matcher(entry.getKey()).find()) continue;
+            for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+                long bestNanos = Long.MAX_VALUE;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    bestNanos = Math.min(bestNanos, entry.getValue().run(threads, items));
+                }
+                System.out.printf("%-34s %8d %16.0f%n", entry.getKey(), threads, count * 1e9 / bestNanos);
+            }
+        }
+    }
+
+    private static int nextThreadCount(int threads, int maxThreads) {
+        return threads < maxThreads ? Math.min(threads * 2, maxThreads) : threads + 1;
+    }
+}
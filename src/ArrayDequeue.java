@@ -0,0 +1,259 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Реалізація двобічної черги на основі кільцевого буфера.
+ * Місткість буфера завжди є степенем двійки, тому позиції елементів
+ * обчислюються маскою, а вставка не створює нових об'єктів, доки буфер не заповниться
+ * @param <T> параметр типу елементів черги
+ */
+
+@SuppressWarnings("unchecked")
+public class ArrayDequeue<T> implements Iterable<T> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private T[] elements;
+    private int head;
+    private int tail;
+    private int size;
+
+    /**
+     * Створює чергу з місткістю в 16 елементів
+     */
+
+    public ArrayDequeue(){
+        this(16);
+    }
+
+    /**
+     * Створює чергу з заданою місткістю, округленою до найближчого степеня двійки
+     * @param capacity мінімальна місткість створюваної черги
+     * @throws IllegalArgumentException якщо значення {@param capacity}
+     * менше за 1 або більше за 2^30
+     */
+
+    public ArrayDequeue(int capacity){
+        if(capacity < 1 || capacity > MAX_CAPACITY){
+            throw new IllegalArgumentException("Неприпустима місткість черги: " + capacity);
+        }
+        int powerOfTwo = Integer.highestOneBit(capacity);
+        if(powerOfTwo < capacity){
+            powerOfTwo <<= 1;
+        }
+        elements = (T[]) new Object[powerOfTwo];
+    }
+
+    /**
+     * Повертає кількість елементів в черзі
+     * @return кількість елементів в черзі
+     */
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Перевіряє чи черга містить елементи
+     * @return логічне {@code true}, якщо даний черга пуста, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Повертає поточну місткість кільцевого буфера
+     * @return кількість елементів, яку черга вміщує без розширення
+     */
+
+    public int capacity(){
+        return elements.length;
+    }
+
+    /**
+     * Вставляє заданий елемент у голову черги
+     * @param item елемент, який вставляється
+     * @throws IllegalStateException якщо черга досягла максимальної місткості
+     */
+
+    public void offerFirst(T item){
+        ensureSpace();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = item;
+        size++;
+    }
+
+    /**
+     * Вставляє заданий елемент у хвіст черги
+     * @param item елемент, який вставляється
+     * @throws IllegalStateException якщо черга досягла максимальної місткості
+     */
+
+    public void offerLast(T item){
+        ensureSpace();
+        elements[tail] = item;
+        tail = (tail + 1) & (elements.length - 1);
+        size++;
+    }
+
+    /**
+     * Видаляє елемент із голови черги
+     * @return елемент, що був видалений
+     * @throws NoSuchElementException якщо черга пуста
+     */
+
+    public T removeFirst(){
+        if(isEmpty()){
+            throw new NoSuchElementException("Неможливо видалити елемент, так як черга пуста");
+        }
+
+        return pollFirst();
+    }
+
+    /**
+     * Видаляє елемент із хвоста черги
+     * @return елемент, що був видалений
+     * @throws NoSuchElementException якщо черга пуста
+     */
+
+    public T removeLast(){
+        if(isEmpty()){
+            throw new NoSuchElementException("Неможливо видалити елемент, так як черга пуста");
+        }
+
+        return pollLast();
+    }
+
+    /**
+     * Видаляє елемент із голови черги
+     * @return елемент, що був видалений якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T pollFirst(){
+        if(isEmpty()){
+            return null;
+        }
+
+        T item = elements[head];
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+
+        return item;
+    }
+
+    /**
+     * Видаляє елемент із хвоста черги
+     * @return елемент, що був видалений якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T pollLast(){
+        if(isEmpty()){
+            return null;
+        }
+
+        tail = (tail - 1) & (elements.length - 1);
+        T item = elements[tail];
+        elements[tail] = null;
+        size--;
+
+        return item;
+    }
+
+    /**
+     * Повертає елемент із голови черги, не видаляючи його
+     * @return елемент, якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T peekFirst(){
+        if(isEmpty()){
+            return null;
+        }
+
+        return elements[head];
+    }
+
+    /**
+     * Повертає елемент із хвоста черги, не видаляючи його
+     * @return елемент, якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T peekLast(){
+        if(isEmpty()){
+            return null;
+        }
+
+        return elements[(tail - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * Повертає ітератор по елементах черги від голови до хвоста
+     * @return ітератор по елементах черги
+     */
+
+    @Override
+    public Iterator<T> iterator(){
+        return new Iterator<T>() {
+            private int cursor = head;
+            private int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if(remaining == 0){
+                    throw new NoSuchElementException();
+                }
+                T item = elements[cursor];
+                cursor = (cursor + 1) & (elements.length - 1);
+                remaining--;
+
+                return item;
+            }
+        };
+    }
+
+    /**
+     * Повертає сплітератор по елементах черги від голови до хвоста
+     * @return сплітератор з характеристиками ORDERED та SIZED
+     */
+
+    @Override
+    public Spliterator<T> spliterator(){
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Повертає послідовний потік елементів черги від голови до хвоста
+     * @return потік елементів черги
+     */
+
+    public Stream<T> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private void ensureSpace(){
+        if(size < elements.length){
+            return;
+        }
+        if(elements.length == MAX_CAPACITY){
+            throw new IllegalStateException("Черга досягла максимальної місткості");
+        }
+
+        T[] newElements = (T[]) new Object[elements.length << 1];
+        int headPart = elements.length - head;
+        System.arraycopy(elements, head, newElements, 0, headPart);
+        System.arraycopy(elements, 0, newElements, headPart, head);
+        head = 0;
+        tail = elements.length;
+        elements = newElements;
+    }
+}
@@ -1,5 +1,18 @@
 import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Реалізація списку
@@ -7,10 +20,14 @@ import java.util.NoSuchElementException;
  */
 
 @SuppressWarnings("unchecked")
-public class ArrayList<T> {
+public class ArrayList<T> implements Iterable<T> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
 
     private int size = 0;
     private T[] elementData;
+    private GrowthPolicy growthPolicy = GrowthPolicy.doubling();
+    private HashIndex<T> hashIndex;
 
     /**
      * Створює список з місткістю в 10 елементів
@@ -29,6 +46,17 @@ public class ArrayList<T> {
         elementData = (T[]) new Object[capacity];
     }
 
+    /**
+     * Створює список з заданою місткістю та стратегією розширення
+     * @param capacity місткість створюваного списку
+     * @param growthPolicy стратегія, за якою обчислюється нова місткість при заповненні списку
+     */
+
+    public ArrayList(int capacity, GrowthPolicy growthPolicy){
+        this(capacity);
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
     /**
      * Створює список на основі заданого масиву
      * @param data масив, на основі якого створюється список
@@ -69,20 +97,32 @@ public class ArrayList<T> {
     }
 
     /**
-     * Змінює місткість списку, якщо нинішня місткість менша за {@code capacity}
+     * Повертає кількість елементів, яку список вміщує без розширення
+     * @return місткість списку
+     */
+
+    public int capacity(){
+        return elementData.length;
+    }
+
+    /**
+     * Змінює місткість списку, якщо нинішня місткість менша за {@code capacity}.
+     * Нова місткість визначається стратегією розширення списку
      * @param capacity нова місткість списку
+     * @throws IllegalStateException якщо {@code capacity} перевищує максимальну довжину масиву
      */
 
     public void ensureCapacity(int capacity){
-        if(capacity >= elementData.length) {
-            int newSize = elementData.length;
-            while (capacity > newSize) {
-                newSize = 2 * newSize + 1;
-            }
+        if(capacity > elementData.length) {
+            int newSize = growthPolicy.grow(elementData.length, capacity);
 
             T[] newElementData = (T[]) new Object[newSize];
             System.arraycopy(elementData, 0, newElementData, 0, size);
             elementData = newElementData;
+            if (Metrics.ENABLED) {
+                Metrics.add(Metrics.Counter.LIST_REALLOCATIONS, 1);
+                Metrics.add(Metrics.Counter.LIST_BYTES_COPIED, (long) size * Metrics.REFERENCE_BYTES);
+            }
         }
     }
 
@@ -97,9 +137,50 @@ public class ArrayList<T> {
         if(size >= this.size || size < 0){
             throw new IndexOutOfBoundsException();
         }
+        if(hashIndex != null){
+            for (int i = this.size - 1; i >= size; i--) {
+                hashIndex.removed(elementData[i], i, false);
+            }
+        }
         T[] newElementData = (T[]) new Object[size];
         System.arraycopy(elementData, 0, newElementData, 0, size);
         elementData = newElementData;
+        this.size = size;
+    }
+
+    /**
+     * Вмикає хеш-індекс елементів, з яким {@link #contains} виконується за O(1),
+     * а {@link #find} - за амортизований O(1), якщо між пошуками список змінюється
+     * лише додаванням в кінець. Після змін, що зсувають елементи, перший пошук позиції
+     * перераховує індекс за O(n). Індекс підтримується методами цього класу, тому масив,
+     * переданий у конструктор {@link #ArrayList(Object[])}, не слід змінювати напряму.
+     * Індекс потребує {@link Object#hashCode()}, узгодженого з {@link Object#equals(Object)}
+     */
+
+    public void enableHashIndex(){
+        if(hashIndex == null){
+            hashIndex = new HashIndex<>(size);
+            for (int i = 0; i < size; i++) {
+                hashIndex.added(elementData[i], i, false);
+            }
+        }
+    }
+
+    /**
+     * Вимикає хеш-індекс елементів, звільняючи пам'ять, яку він займає
+     */
+
+    public void disableHashIndex(){
+        hashIndex = null;
+    }
+
+    /**
+     * Перевіряє чи ввімкнено хеш-індекс елементів
+     * @return логічне {@code true}, якщо хеш-індекс ввімкнено, {@code false} - інакше
+     */
+
+    public boolean isHashIndexed(){
+        return hashIndex != null;
     }
 
     /**
@@ -118,6 +199,9 @@ public class ArrayList<T> {
         System.arraycopy(elementData, index, elementData, index + 1, size - index);
         elementData[index] = element;
         size++;
+        if(hashIndex != null){
+            hashIndex.added(element, index, true);
+        }
     }
 
     /**
@@ -137,6 +221,11 @@ public class ArrayList<T> {
         System.arraycopy(elementData, index, elementData, index + list.size, size - index);
         System.arraycopy(list.elementData, 0, elementData, index, list.size);
         size+= list.size;
+        if(hashIndex != null){
+            for (int i = index; i < index + list.size; i++) {
+                hashIndex.added(elementData[i], i, true);
+            }
+        }
     }
 
     /**
@@ -147,6 +236,9 @@ public class ArrayList<T> {
     public void add(T element){
         ensureCapacity(size + 1);
         elementData[size++] = element;
+        if(hashIndex != null){
+            hashIndex.added(element, size - 1, false);
+        }
     }
 
     /**
@@ -173,8 +265,11 @@ public class ArrayList<T> {
      */
 
     public boolean contains(T element){
+        if(hashIndex != null){
+            return hashIndex.contains(element);
+        }
         for (int i = 0; i < size; i++) {
-            if(elementData[i].equals(element)){
+            if(Objects.equals(elementData[i], element)){
                 return true;
             }
         }
@@ -190,9 +285,16 @@ public class ArrayList<T> {
      */
 
     public int find(T element){
-        for (int i = 0; i < size; i++) {
-            if(elementData[i].equals(element)){
-                return i;
+        if(hashIndex != null){
+            int index = hashIndex.find(element, elementData, size);
+            if(index >= 0){
+                return index;
+            }
+        }else{
+            for (int i = 0; i < size; i++) {
+                if(Objects.equals(elementData[i], element)){
+                    return i;
+                }
             }
         }
 
@@ -215,8 +317,12 @@ public class ArrayList<T> {
             throw new NoSuchElementException("Неможливо видалити елемент, так як список пустий");
         }
 
+        T removed = elementData[index];
         System.arraycopy(elementData, index + 1, elementData, index, size - (index + 1));
-        size--;
+        elementData[--size] = null;
+        if(hashIndex != null){
+            hashIndex.removed(removed, index, index < size);
+        }
     }
 
     /**
@@ -226,7 +332,7 @@ public class ArrayList<T> {
      * @throws IllegalArgumentException якщо значення {@param start}
      * не менше за значення {@param end}
      * @throws IndexOutOfBoundsException якщо значення {@param end}
-     * не менше за розмір списку, або значення {@param start}
+     * більше за розмір списку, або значення {@param start}
      * менше за 0
      */
 
@@ -234,13 +340,18 @@ public class ArrayList<T> {
         if(end <= start){
             throw new IllegalArgumentException();
         }
-        if(end >= size || start < 0){
+        if(end > size || start < 0){
             throw new IndexOutOfBoundsException();
         }
-        if(start == end - 1) return;
+        if(hashIndex != null){
+            for (int i = start; i < end; i++) {
+                hashIndex.removed(elementData[i], i, end < size);
+            }
+        }
 
-        System.arraycopy(elementData, start, elementData, end, size - (end - start));
-        size-= start - end;
+        System.arraycopy(elementData, end, elementData, start, size - end);
+        Arrays.fill(elementData, size - (end - start), size, null);
+        size-= end - start;
     }
 
     /**
@@ -280,7 +391,204 @@ public class ArrayList<T> {
         if(arr.length > size){
             throw new IndexOutOfBoundsException();
         }
-        return (T[]) Array.newInstance(arr.getClass().getComponentType(), arr.length);
+        T[] result = (T[]) Array.newInstance(arr.getClass().getComponentType(), arr.length);
+        System.arraycopy(elementData, 0, result, 0, arr.length);
+
+        return result;
+    }
+
+    /**
+     * Повертає ітератор по елементах списку в порядку їх розташування
+     * @return ітератор по елементах списку
+     */
+
+    @Override
+    public Iterator<T> iterator(){
+        return new Iterator<T>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if(cursor >= size){
+                    throw new NoSuchElementException();
+                }
+                return elementData[cursor++];
+            }
+        };
+    }
+
+    /**
+     * Повертає сплітератор по елементах списку, що ділиться навпіл
+     * без копіювання масиву елементів
+     * @return сплітератор з характеристиками ORDERED, SIZED та SUBSIZED
+     */
+
+    @Override
+    public Spliterator<T> spliterator(){
+        return Spliterators.spliterator(elementData, 0, size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Повертає послідовний потік елементів списку
+     * @return потік елементів списку
+     */
+
+    public Stream<T> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Сортує список паралельно в спільному пулі {@link java.util.concurrent.ForkJoinPool}
+     * @param comparator компаратор, що визначає порядок елементів
+     */
+
+    public void parallelSort(Comparator<? super T> comparator){
+        Arrays.parallelSort(elementData, 0, size, comparator);
+        if(hashIndex != null){
+            hashIndex.reordered();
+        }
+    }
+
+    /**
+     * Виконує задану дію для кожного елемента списку паралельно
+     * в спільному пулі {@link java.util.concurrent.ForkJoinPool}.
+     * Порядок виконання дії для різних елементів не визначений
+     * @param action дія, що виконується для кожного елемента
+     */
+
+    public void parallelForEach(Consumer<? super T> action){
+        new ForEachTask<>(elementData, 0, size, action).invoke();
+    }
+
+    /**
+     * Знаходить позицію елемента в списку, переглядаючи частини списку паралельно
+     * в спільному пулі {@link java.util.concurrent.ForkJoinPool}
+     * @param element елемент, позицію в списку якого потрібно знайти
+     * @return найменшу позицію в списку, на якій знаходиться {@param element}
+     * @throws NoSuchElementException якщо елемент не знайдено
+     */
+
+    public int parallelFind(T element){
+        AtomicInteger found = new AtomicInteger(size);
+        new FindTask<>(elementData, 0, size, element, found).invoke();
+        if(found.get() == size){
+            throw new NoSuchElementException("Даний елемент не знайдено");
+        }
+
+        return found.get();
+    }
+
+    /**
+     * Згортає елементи списку асоціативною операцією, обчислюючи частини списку паралельно
+     * в спільному пулі {@link java.util.concurrent.ForkJoinPool}
+     * @param identity нейтральний елемент операції
+     * @param operator асоціативна операція згортки
+     * @return результат згортки, або {@param identity} якщо список пустий
+     */
+
+    public T reduce(T identity, BinaryOperator<T> operator){
+        return new ReduceTask<>(elementData, 0, size, identity, operator).invoke();
+    }
+
+    private static class ForEachTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] data;
+        private final int start, end;
+        private final Consumer<? super T> action;
+
+        ForEachTask(T[] data, int start, int end, Consumer<? super T> action){
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute(){
+            if(end - start <= SEQUENTIAL_THRESHOLD){
+                for (int i = start; i < end; i++) {
+                    action.accept(data[i]);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new ForEachTask<>(data, start, middle, action), new ForEachTask<>(data, middle, end, action));
+        }
+    }
+
+    private static class FindTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] data;
+        private final int start, end;
+        private final T element;
+        private final AtomicInteger found;
+
+        FindTask(T[] data, int start, int end, T element, AtomicInteger found){
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.element = element;
+            this.found = found;
+        }
+
+        @Override
+        protected void compute(){
+            if(start >= found.get()){
+                return;
+            }
+            if(end - start <= SEQUENTIAL_THRESHOLD){
+                for (int i = start; i < end && i < found.get(); i++) {
+                    if(Objects.equals(data[i], element)){
+                        found.accumulateAndGet(i, Math::min);
+                        return;
+                    }
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new FindTask<>(data, start, middle, element, found), new FindTask<>(data, middle, end, element, found));
+        }
+    }
+
+    private static class ReduceTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] data;
+        private final int start, end;
+        private final T identity;
+        private final BinaryOperator<T> operator;
+
+        ReduceTask(T[] data, int start, int end, T identity, BinaryOperator<T> operator){
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.identity = identity;
+            this.operator = operator;
+        }
+
+        @Override
+        protected T compute(){
+            if(end - start <= SEQUENTIAL_THRESHOLD){
+                T result = identity;
+                for (int i = start; i < end; i++) {
+                    result = operator.apply(result, data[i]);
+                }
+                return result;
+            }
+            int middle = (start + end) >>> 1;
+            ReduceTask<T> left = new ReduceTask<>(data, start, middle, identity, operator);
+            left.fork();
+            T right = new ReduceTask<>(data, middle, end, identity, operator).compute();
+
+            return operator.apply(left.join(), right);
+        }
     }
 
     @Override
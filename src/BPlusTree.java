@@ -0,0 +1,470 @@
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Реалізація B+ дерева.
+ * Кожен вузол зберігає до {@code order - 1} ключів у відсортованому масиві, пари ключ-значення
+ * знаходяться лише в листках, а листки зв'язані між собою, що дозволяє обходити діапазон ключів
+ * без повернення до кореня. На відміну від {@link BinaryTree}, повторне додавання ключа
+ * замінює відповідне значення
+ * @param <K> параметр типу ключа, за яким знаходяться відповідні значення в дереві.
+ * Параметр ключа повинен реалізувати інтерфейс Comparable, для реалізації основних методів
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+@SuppressWarnings("unchecked")
+public class BPlusTree<K extends Comparable<K>, V> {
+
+    private static final int DEFAULT_ORDER = 64;
+
+    private final int order;
+    private final int minKeys;
+    private Node<K> root;
+    private int size = 0;
+
+    private K splitKey;
+    private Node<K> splitNode;
+
+    private abstract static class Node<K> {
+        K[] keys;
+        int count;
+
+        Node(int order) {
+            keys = (K[]) new Comparable<?>[order];
+        }
+    }
+
+    private static class Leaf<K, V> extends Node<K> {
+        V[] values;
+        Leaf<K, V> next;
+
+        Leaf(int order) {
+            super(order);
+            values = (V[]) new Object[order];
+        }
+    }
+
+    private static class Inner<K> extends Node<K> {
+        Node<K>[] children;
+
+        Inner(int order) {
+            super(order);
+            children = (Node<K>[]) new Node<?>[order + 1];
+        }
+    }
+
+    /**
+     * Створює B+ дерево, вузли якого мають до 64 нащадків
+     */
+
+    public BPlusTree(){
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * Створює B+ дерево
+     * @param order максимальна кількість нащадків вузла
+     * @throws IllegalArgumentException якщо значення {@param order} менше за 4
+     */
+
+    public BPlusTree(int order){
+        if(order < 4){
+            throw new IllegalArgumentException("Кількість нащадків вузла повинна бути не менше 4");
+        }
+        this.order = order;
+        this.minKeys = (order - 1) / 2;
+        this.root = new Leaf<K, V>(order);
+    }
+
+    /**
+     * Перевіряє чи дерево містить елементи
+     * @return логічне {@code true}, якщо дане дерево пусте, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Повертає кількість елементів в дереві
+     * @return кількість елементів в дереві
+     */
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Повертає висоту дерева
+     * @return кількість рівнів вузлів від кореня до листків
+     */
+
+    public int height(){
+        int height = 1;
+        for(Node<K> node = root; node instanceof Inner; node = ((Inner<K>) node).children[0]){
+            height++;
+        }
+
+        return height;
+    }
+
+    /**
+     * Додає пару ключ-значення в дерево. Якщо ключ вже існує, замінює відповідне значення
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     */
+
+    public void add(K key, V value){
+        if(insert(root, key, value)){
+            size++;
+        }
+        if(splitNode != null){
+            Inner<K> newRoot = new Inner<>(order);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = splitNode;
+            newRoot.count = 1;
+            root = newRoot;
+            splitKey = null;
+            splitNode = null;
+        }
+    }
+
+    /**
+     * Знаходить значення в дереві за ключем,
+     * якому дане значення поставлене у відповідність
+     * @param key ключ, за яким відбувається пошук
+     * @return значення, якщо відповідна пара ключ-значення існує в дереві
+     * @throws NoSuchElementException якщо відповідної пари ключ-значення немає в дереві
+     */
+
+    public V get(K key){
+        Leaf<K, V> leaf = findLeaf(key);
+        int index = lowerBound(leaf, key);
+        if(index == leaf.count || leaf.keys[index].compareTo(key) != 0){
+            throw new NoSuchElementException("Не вдалося знайти заданий елемент");
+        }
+
+        return leaf.values[index];
+    }
+
+    /**
+     * Знаходить значення, яке відповідає мінімальному за величиною ключу
+     * @return значення, яке відповідає мінімальному за величиною ключу
+     * @throws NoSuchElementException якщо дерево пусте
+     */
+
+    public V min(){
+        if(isEmpty()){
+            throw new NoSuchElementException("Неможливо знайти елемент так як дерево пусте");
+        }
+        Node<K> node = root;
+        while(node instanceof Inner){
+            node = ((Inner<K>) node).children[0];
+        }
+
+        return ((Leaf<K, V>) node).values[0];
+    }
+
+    /**
+     * Знаходить значення, яке відповідає максимальному за величиною ключу
+     * @return значення, яке відповідає максимальному за величиною ключу
+     * @throws NoSuchElementException якщо дерево пусте
+     */
+
+    public V max(){
+        if(isEmpty()){
+            throw new NoSuchElementException("Неможливо знайти елемент так як дерево пусте");
+        }
+        Node<K> node = root;
+        while(node instanceof Inner){
+            node = ((Inner<K>) node).children[node.count];
+        }
+
+        return ((Leaf<K, V>) node).values[node.count - 1];
+    }
+
+    /**
+     * Видаляє пару ключ-значення
+     * @param key ключ, за яким відбувається видалення пари
+     * @throws IllegalStateException якщо дерево пусте
+     * @throws NoSuchElementException якщо відповідної пари ключ-значення немає в дереві
+     */
+
+    public void remove(K key){
+        if(isEmpty()){
+            throw new IllegalStateException("Неможливо видалити елемент так як дерево пусте");
+        }
+        if(!delete(root, key)){
+            throw new NoSuchElementException("Не вдалося знайти заданий елемент");
+        }
+        size--;
+        if(root instanceof Inner && root.count == 0){
+            root = ((Inner<K>) root).children[0];
+        }
+    }
+
+    /**
+     * Повертає ітератор по парах ключ-значення з ключами в заданому діапазоні в порядку зростання ключів.
+     * Ітератор проходить зв'язаними листками і не копіює елементи
+     * @param from початок діапазону(включно)
+     * @param to кінець діапазону(виключно)
+     * @return ітератор по парах ключ-значення діапазону
+     */
+
+    public Iterator<Map.Entry<K, V>> range(K from, K to){
+        Leaf<K, V> start = findLeaf(from);
+        int startIndex = lowerBound(start, from);
+
+        return new Iterator<Map.Entry<K, V>>() {
+            private Leaf<K, V> leaf = start;
+            private int index = startIndex;
+
+            @Override
+            public boolean hasNext() {
+                while(leaf != null && index == leaf.count){
+                    leaf = leaf.next;
+                    index = 0;
+                }
+
+                return leaf != null && leaf.keys[index].compareTo(to) < 0;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if(!hasNext()){
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(leaf.keys[index], leaf.values[index]);
+                index++;
+
+                return entry;
+            }
+        };
+    }
+
+    private Leaf<K, V> findLeaf(K key){
+        Node<K> node = root;
+        while(node instanceof Inner){
+            node = ((Inner<K>) node).children[upperBound(node, key)];
+        }
+
+        return (Leaf<K, V>) node;
+    }
+
+    private static <K extends Comparable<K>> int lowerBound(Node<K> node, K key){
+        int low = 0, high = node.count;
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            if(node.keys[mid].compareTo(key) < 0){
+                low = mid + 1;
+            }else{
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static <K extends Comparable<K>> int upperBound(Node<K> node, K key){
+        int low = 0, high = node.count;
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            if(node.keys[mid].compareTo(key) <= 0){
+                low = mid + 1;
+            }else{
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private boolean insert(Node<K> node, K key, V value){
+        if(node instanceof Leaf){
+            Leaf<K, V> leaf = (Leaf<K, V>) node;
+            int index = lowerBound(leaf, key);
+            if(index < leaf.count && leaf.keys[index].compareTo(key) == 0){
+                leaf.values[index] = value;
+                return false;
+            }
+            System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+            System.arraycopy(leaf.values, index, leaf.values, index + 1, leaf.count - index);
+            leaf.keys[index] = key;
+            leaf.values[index] = value;
+            leaf.count++;
+            if(leaf.count == order){
+                splitLeaf(leaf);
+            }
+
+            return true;
+        }
+
+        Inner<K> inner = (Inner<K>) node;
+        int index = upperBound(inner, key);
+        boolean added = insert(inner.children[index], key, value);
+        if(splitNode != null){
+            System.arraycopy(inner.keys, index, inner.keys, index + 1, inner.count - index);
+            System.arraycopy(inner.children, index + 1, inner.children, index + 2, inner.count - index);
+            inner.keys[index] = splitKey;
+            inner.children[index + 1] = splitNode;
+            inner.count++;
+            splitKey = null;
+            splitNode = null;
+            if(inner.count == order){
+                splitInner(inner);
+            }
+        }
+
+        return added;
+    }
+
+    private void splitLeaf(Leaf<K, V> leaf){
+        Leaf<K, V> right = new Leaf<>(order);
+        int half = leaf.count / 2;
+        right.count = leaf.count - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.count);
+        System.arraycopy(leaf.values, half, right.values, 0, right.count);
+        clear(leaf.keys, half, leaf.count);
+        clear(leaf.values, half, leaf.count);
+        leaf.count = half;
+        right.next = leaf.next;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        splitNode = right;
+    }
+
+    private void splitInner(Inner<K> inner){
+        Inner<K> right = new Inner<>(order);
+        int mid = inner.count / 2;
+        right.count = inner.count - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, right.count + 1);
+        splitKey = inner.keys[mid];
+        clear(inner.keys, mid, inner.count);
+        clear(inner.children, mid + 1, inner.count + 1);
+        inner.count = mid;
+        splitNode = right;
+    }
+
+    private boolean delete(Node<K> node, K key){
+        if(node instanceof Leaf){
+            Leaf<K, V> leaf = (Leaf<K, V>) node;
+            int index = lowerBound(leaf, key);
+            if(index == leaf.count || leaf.keys[index].compareTo(key) != 0){
+                return false;
+            }
+            System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.count - index - 1);
+            System.arraycopy(leaf.values, index + 1, leaf.values, index, leaf.count - index - 1);
+            leaf.count--;
+            leaf.keys[leaf.count] = null;
+            leaf.values[leaf.count] = null;
+
+            return true;
+        }
+
+        Inner<K> inner = (Inner<K>) node;
+        int index = upperBound(inner, key);
+        if(!delete(inner.children[index], key)){
+            return false;
+        }
+        if(inner.children[index].count < minKeys){
+            rebalance(inner, index);
+        }
+
+        return true;
+    }
+
+    private void rebalance(Inner<K> parent, int index){
+        Node<K> child = parent.children[index];
+        Node<K> left = index > 0 ? parent.children[index - 1] : null;
+        Node<K> right = index < parent.count ? parent.children[index + 1] : null;
+
+        if(left != null && left.count > minKeys){
+            borrowFromLeft(parent, index, left, child);
+        }else if(right != null && right.count > minKeys){
+            borrowFromRight(parent, index, child, right);
+        }else if(left != null){
+            merge(parent, index - 1);
+        }else{
+            merge(parent, index);
+        }
+    }
+
+    private void borrowFromLeft(Inner<K> parent, int index, Node<K> left, Node<K> child){
+        System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+        if(child instanceof Leaf){
+            Leaf<K, V> leftLeaf = (Leaf<K, V>) left, childLeaf = (Leaf<K, V>) child;
+            System.arraycopy(childLeaf.values, 0, childLeaf.values, 1, child.count);
+            childLeaf.keys[0] = leftLeaf.keys[left.count - 1];
+            childLeaf.values[0] = leftLeaf.values[left.count - 1];
+            leftLeaf.values[left.count - 1] = null;
+            parent.keys[index - 1] = childLeaf.keys[0];
+        }else{
+            Inner<K> leftInner = (Inner<K>) left, childInner = (Inner<K>) child;
+            System.arraycopy(childInner.children, 0, childInner.children, 1, child.count + 1);
+            childInner.keys[0] = parent.keys[index - 1];
+            childInner.children[0] = leftInner.children[left.count];
+            leftInner.children[left.count] = null;
+            parent.keys[index - 1] = leftInner.keys[left.count - 1];
+        }
+        left.keys[left.count - 1] = null;
+        left.count--;
+        child.count++;
+    }
+
+    private void borrowFromRight(Inner<K> parent, int index, Node<K> child, Node<K> right){
+        if(child instanceof Leaf){
+            Leaf<K, V> rightLeaf = (Leaf<K, V>) right, childLeaf = (Leaf<K, V>) child;
+            childLeaf.keys[child.count] = rightLeaf.keys[0];
+            childLeaf.values[child.count] = rightLeaf.values[0];
+            System.arraycopy(rightLeaf.keys, 1, rightLeaf.keys, 0, right.count - 1);
+            System.arraycopy(rightLeaf.values, 1, rightLeaf.values, 0, right.count - 1);
+            rightLeaf.values[right.count - 1] = null;
+            parent.keys[index] = rightLeaf.keys[0];
+        }else{
+            Inner<K> rightInner = (Inner<K>) right, childInner = (Inner<K>) child;
+            childInner.keys[child.count] = parent.keys[index];
+            childInner.children[child.count + 1] = rightInner.children[0];
+            parent.keys[index] = rightInner.keys[0];
+            System.arraycopy(rightInner.keys, 1, rightInner.keys, 0, right.count - 1);
+            System.arraycopy(rightInner.children, 1, rightInner.children, 0, right.count);
+            rightInner.children[right.count] = null;
+        }
+        right.keys[right.count - 1] = null;
+        right.count--;
+        child.count++;
+    }
+
+    private void merge(Inner<K> parent, int index){
+        Node<K> left = parent.children[index];
+        Node<K> right = parent.children[index + 1];
+        if(left instanceof Leaf){
+            Leaf<K, V> leftLeaf = (Leaf<K, V>) left, rightLeaf = (Leaf<K, V>) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, left.count, right.count);
+            System.arraycopy(rightLeaf.values, 0, leftLeaf.values, left.count, right.count);
+            left.count += right.count;
+            leftLeaf.next = rightLeaf.next;
+        }else{
+            Inner<K> leftInner = (Inner<K>) left, rightInner = (Inner<K>) right;
+            leftInner.keys[left.count] = parent.keys[index];
+            System.arraycopy(rightInner.keys, 0, leftInner.keys, left.count + 1, right.count);
+            System.arraycopy(rightInner.children, 0, leftInner.children, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+
+        System.arraycopy(parent.keys, index + 1, parent.keys, index, parent.count - index - 1);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 1);
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count + 1] = null;
+    }
+
+    private static void clear(Object[] array, int from, int to){
+        for(int i = from; i < to; i++){
+            array[i] = null;
+        }
+    }
+}
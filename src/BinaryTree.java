@@ -1,4 +1,11 @@
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Реалізація бінарного дерева
@@ -7,15 +14,19 @@ import java.util.NoSuchElementException;
  * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
  */
 
-public class BinaryTree<K extends Comparable<K>, V> {
+public class BinaryTree<K extends Comparable<K>, V> implements Iterable<Map.Entry<K, V>> {
 
     private int size = 0;
     private Node<K, V> root;
+    private final boolean balanced;
+    private long rotations = 0;
 
-    private static class Node<K, V> {
+    private static class Node<K, V> implements Map.Entry<K, V> {
         K key;
         V value;
         Node<K, V> leftChild, rightChild, parent;
+        int height = 1;
+        int size = 1;
 
         Node(Node<K, V> left, Node<K, V> parent, Node<K, V> right, K key, V value) {
             this.key = key;
@@ -25,6 +36,33 @@ public class BinaryTree<K extends Comparable<K>, V> {
             this.rightChild = right;
         }
 
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException("Значення змінюється лише через методи дерева");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
         @Override
         public String toString() {
             return "Node{" +
@@ -34,6 +72,25 @@ public class BinaryTree<K extends Comparable<K>, V> {
         }
     }
 
+    /**
+     * Створює незбалансоване бінарне дерево
+     */
+
+    public BinaryTree(){
+        this(false);
+    }
+
+    /**
+     * Створює бінарне дерево
+     * @param balanced логічне {@code true}, якщо дерево повинне підтримувати
+     * збалансованість (AVL-дерево) при додаванні та видаленні елементів,
+     * що гарантує висоту O(log n); {@code false} - інакше
+     */
+
+    public BinaryTree(boolean balanced){
+        this.balanced = balanced;
+    }
+
     /**
      * Перевіряє чи бінарне дерево містить елементи
      * @return логічне {@code true}, якщо дане дерево пусте, {@code false} - інакше
@@ -84,8 +141,9 @@ public class BinaryTree<K extends Comparable<K>, V> {
                     }
                 }
             }
-            size++;
+            rebalanceFrom(toInsert.parent);
         }
+        size++;
     }
 
     /**
@@ -107,20 +165,31 @@ public class BinaryTree<K extends Comparable<K>, V> {
         }
 
         Node<K, V> current = root;
+        int depth = 0;
 
         while(current != null){
+            depth++;
             if(key.compareTo(current.key) < 0){
                 current = current.leftChild;
             }else if(key.compareTo(current.key) > 0){
                 current = current.rightChild;
             }else{
+                recordSearch(depth);
                 return current;
             }
         }
 
+        recordSearch(depth);
         throw new NoSuchElementException("Не вдалося знайти заданий елемент");
     }
 
+    private static void recordSearch(int depth){
+        if(Metrics.ENABLED){
+            Metrics.add(Metrics.Counter.TREE_SEARCHES, 1);
+            Metrics.add(Metrics.Counter.TREE_SEARCH_DEPTH, depth);
+        }
+    }
+
     private Node<K, V> findMinBeginsWith(Node<K, V> node){
         Node<K, V> current = node;
         while(current.leftChild != null){
@@ -160,73 +229,465 @@ public class BinaryTree<K extends Comparable<K>, V> {
     }
 
     /**
-     * Видаляє пару ключ-значення
+     * Знаходить пару ключ-значення з k-м за величиною ключем за час O(h),
+     * де h - висота дерева
+     * @param k позиція ключа в порядку зростання, починаючи з 0
+     * @return пара ключ-значення, ключ якої має {@code k} менших або рівних ключів перед собою
+     * @throws IndexOutOfBoundsException якщо значення {@param k}
+     * не менше за розмір дерева, або менше за 0
+     */
+
+    public Map.Entry<K, V> select(int k){
+        if(k < 0 || k >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        Node<K, V> current = root;
+        while(true){
+            int leftSize = size(current.leftChild);
+            if(k < leftSize){
+                current = current.leftChild;
+            }else if(k == leftSize){
+                return current;
+            }else{
+                k -= leftSize + 1;
+                current = current.rightChild;
+            }
+        }
+    }
+
+    /**
+     * Підраховує кількість ключів, менших за заданий, за час O(h), де h - висота дерева
+     * @param key ключ, з яким порівнюються ключі дерева; може бути відсутнім у дереві
+     * @return кількість ключів, строго менших за {@param key}
+     */
+
+    public int rank(K key){
+        int rank = 0;
+        Node<K, V> current = root;
+        while(current != null){
+            if(key.compareTo(current.key) <= 0){
+                current = current.leftChild;
+            }else{
+                rank += size(current.leftChild) + 1;
+                current = current.rightChild;
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Підраховує кількість ключів у заданому діапазоні за час O(h), де h - висота дерева
+     * @param from початок діапазону(включно)
+     * @param to кінець діапазону(виключно)
+     * @return кількість ключів, не менших за {@param from} і менших за {@param to}
+     */
+
+    public int countRange(K from, K to){
+        if(from.compareTo(to) >= 0){
+            return 0;
+        }
+
+        return rank(to) - rank(from);
+    }
+
+    /**
+     * Видаляє пару ключ-значення. Якщо вузол має двох нащадків, на його місце переноситься
+     * вузол наступника, а не його ключ і значення, тому інші пари, отримані раніше, не змінюються
      * @param key ключ, за яким відбувається видалення пари
      * @throws IllegalStateException якщо дерево пусте
+     * @throws NoSuchElementException якщо відповідної пари ключ-значення немає в бінарному дереві
      */
 
     public void remove(K key){
         if(root == null){
             throw new IllegalStateException("Неможливо видалити елемент так як дерево пусте");
-        }else{
-            Node<K, V> found = findNode(key);
-            if(found.leftChild != null) {
-                Node<K, V> toReplace = findMaxBeginsWith(found.leftChild);
-                if(!toReplace.equals(found.leftChild)) {
-                    toReplace.parent.rightChild = null;
-                    toReplace.leftChild = found.leftChild;
-                }
-                toReplace.parent = found.parent;
-                if(found.equals(root)){
-                    root = toReplace;
-                }
-            }else if(found.rightChild != null){
-                Node<K, V> toReplace = findMinBeginsWith(found.rightChild);
-                if(!toReplace.equals(found.rightChild)) {
-                    toReplace.parent.leftChild = null;
-                    toReplace.rightChild = found.rightChild;
-                }
-                toReplace.parent = found.parent;
-                if(found.equals(root)){
-                    root = toReplace;
+        }
+        Node<K, V> found = findNode(key);
+        Node<K, V> changedFrom;
+        if(found.leftChild != null && found.rightChild != null){
+            Node<K, V> successor = findMinBeginsWith(found.rightChild);
+            if(successor.parent != found){
+                changedFrom = successor.parent;
+                successor.parent.leftChild = successor.rightChild;
+                if(successor.rightChild != null){
+                    successor.rightChild.parent = successor.parent;
                 }
+                successor.rightChild = found.rightChild;
+                successor.rightChild.parent = successor;
             }else{
-                if(found.parent != null){
-                    if(found.key.compareTo(found.parent.key) <= 0){
-                        found.parent.leftChild = null;
-                    }else{
-                        found.parent.rightChild = null;
-                    }
+                changedFrom = successor;
+            }
+            successor.leftChild = found.leftChild;
+            successor.leftChild.parent = successor;
+            successor.parent = found.parent;
+            replaceChild(found.parent, found, successor);
+        }else{
+            Node<K, V> child = found.leftChild != null ? found.leftChild : found.rightChild;
+            if(child != null){
+                child.parent = found.parent;
+            }
+            replaceChild(found.parent, found, child);
+            changedFrom = found.parent;
+        }
+        size--;
+        rebalanceFrom(changedFrom);
+    }
+
+    /**
+     * Створює ідеально збалансоване бінарне дерево з відсортованих пар ключ-значення за час O(n)
+     * @param keys масив ключів, відсортований за неспаданням
+     * @param values масив значень, {@code values[i]} відповідає ключу {@code keys[i]}
+     * @param <K> параметр типу ключа
+     * @param <V> параметр типу значення
+     * @return незбалансоване бінарне дерево, що містить задані пари
+     * @throws IllegalArgumentException якщо довжини масивів не збігаються,
+     * або ключі не відсортовані
+     */
+
+    public static <K extends Comparable<K>, V> BinaryTree<K, V> fromSorted(K[] keys, V[] values){
+        return fromSorted(keys, values, false);
+    }
+
+    /**
+     * Створює ідеально збалансоване бінарне дерево з відсортованих пар ключ-значення за час O(n)
+     * @param keys масив ключів, відсортований за неспаданням
+     * @param values масив значень, {@code values[i]} відповідає ключу {@code keys[i]}
+     * @param balanced логічне {@code true}, якщо дерево повинне підтримувати
+     * збалансованість при подальших змінах, {@code false} - інакше
+     * @param <K> параметр типу ключа
+     * @param <V> параметр типу значення
+     * @return бінарне дерево, що містить задані пари
+     * @throws IllegalArgumentException якщо довжини масивів не збігаються,
+     * або ключі не відсортовані
+     */
+
+    public static <K extends Comparable<K>, V> BinaryTree<K, V> fromSorted(K[] keys, V[] values, boolean balanced){
+        BinaryTree<K, V> tree = new BinaryTree<>(balanced);
+        tree.addAllSorted(keys, values);
+
+        return tree;
+    }
+
+    /**
+     * Додає відсортовані пари ключ-значення в бінарне дерево, перебудовуючи його
+     * в ідеально збалансоване за час O(n + m), де n - розмір дерева, m - кількість пар, що додаються
+     * @param keys масив ключів, відсортований за неспаданням
+     * @param values масив значень, {@code values[i]} відповідає ключу {@code keys[i]}
+     * @throws IllegalArgumentException якщо довжини масивів не збігаються,
+     * або ключі не відсортовані
+     */
+
+    @SuppressWarnings("unchecked")
+    public void addAllSorted(K[] keys, V[] values){
+        if(keys.length != values.length){
+            throw new IllegalArgumentException("Кількість ключів не відповідає кількості значень");
+        }
+        for (int i = 1; i < keys.length; i++) {
+            if(keys[i - 1].compareTo(keys[i]) > 0){
+                throw new IllegalArgumentException("Ключі не відсортовані");
+            }
+        }
+
+        K[] mergedKeys = keys;
+        V[] mergedValues = values;
+        if(root != null){
+            K[] oldKeys = (K[]) new Comparable<?>[size];
+            V[] oldValues = (V[]) new Object[size];
+            toSortedArrays(oldKeys, oldValues);
+            mergedKeys = (K[]) new Comparable<?>[size + keys.length];
+            mergedValues = (V[]) new Object[size + keys.length];
+            int i = 0, j = 0, k = 0;
+            while(i < oldKeys.length || j < keys.length){
+                if(j == keys.length || (i < oldKeys.length && oldKeys[i].compareTo(keys[j]) <= 0)){
+                    mergedKeys[k] = oldKeys[i];
+                    mergedValues[k++] = oldValues[i++];
                 }else{
-                    root = null;
+                    mergedKeys[k] = keys[j];
+                    mergedValues[k++] = values[j++];
                 }
             }
         }
-        size--;
+
+        root = build(mergedKeys, mergedValues, 0, mergedKeys.length, null);
+        size = mergedKeys.length;
+    }
+
+    /**
+     * Записує пари ключ-значення бінарного дерева в задані масиви в порядку зростання ключів
+     * @param keys масив, у який записуються ключі
+     * @param values масив, у який записуються значення
+     * @throws IndexOutOfBoundsException якщо розмір одного з масивів
+     * менший за розмір дерева
+     */
+
+    public void toSortedArrays(K[] keys, V[] values){
+        if(keys.length < size || values.length < size){
+            throw new IndexOutOfBoundsException();
+        }
+        int i = 0;
+        for(Node<K, V> node = root == null ? null : findMinBeginsWith(root); node != null; node = inOrderSuccessor(node)){
+            keys[i] = node.key;
+            values[i++] = node.value;
+        }
     }
 
-    private void preOrder(Node<K, V> node){
-        if(node != null){
-            System.out.println(node);
-            preOrder(node.leftChild);
-            preOrder(node.rightChild);
+    private Node<K, V> build(K[] keys, V[] values, int start, int end, Node<K, V> parent){
+        if(start >= end){
+            return null;
+        }
+        int middle = (start + end) >>> 1;
+        Node<K, V> node = new Node<>(null, parent, null, keys[middle], values[middle]);
+        node.leftChild = build(keys, values, start, middle, node);
+        node.rightChild = build(keys, values, middle + 1, end, node);
+        update(node);
+
+        return node;
+    }
+
+    /**
+     * Повертає висоту бінарного дерева
+     * @return кількість вузлів на найдовшому шляху від кореня до листа,
+     * {@code 0} якщо дерево пусте
+     */
+
+    public int height(){
+        return height(root);
+    }
+
+    /**
+     * Повертає кількість поворотів, виконаних для балансування дерева
+     * @return кількість поворотів з моменту створення дерева
+     */
+
+    public long rotations(){
+        return rotations;
+    }
+
+    /**
+     * Перевіряє чи дерево підтримує збалансованість
+     * @return логічне {@code true}, якщо дерево є AVL-деревом, {@code false} - інакше
+     */
+
+    public boolean isBalanced(){
+        return balanced;
+    }
+
+    private static int height(Node<?, ?> node){
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node){
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node<?, ?> node){
+        node.height = Math.max(height(node.leftChild), height(node.rightChild)) + 1;
+        node.size = size(node.leftChild) + size(node.rightChild) + 1;
+    }
+
+    private void replaceChild(Node<K, V> parent, Node<K, V> oldChild, Node<K, V> newChild){
+        if(parent == null){
+            root = newChild;
+        }else if(parent.leftChild == oldChild){
+            parent.leftChild = newChild;
+        }else{
+            parent.rightChild = newChild;
+        }
+    }
+
+    private void rebalanceFrom(Node<K, V> node){
+        Node<K, V> current = node;
+        while(current != null){
+            update(current);
+            if(balanced){
+                current = rebalance(current);
+            }
+            current = current.parent;
+        }
+    }
+
+    private Node<K, V> rebalance(Node<K, V> node){
+        int balance = height(node.leftChild) - height(node.rightChild);
+        if(balance > 1){
+            if(height(node.leftChild.leftChild) < height(node.leftChild.rightChild)){
+                rotateLeft(node.leftChild);
+            }
+            return rotateRight(node);
+        }
+        if(balance < -1){
+            if(height(node.rightChild.rightChild) < height(node.rightChild.leftChild)){
+                rotateRight(node.rightChild);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private Node<K, V> rotateLeft(Node<K, V> node){
+        Node<K, V> pivot = node.rightChild;
+        node.rightChild = pivot.leftChild;
+        if(pivot.leftChild != null){
+            pivot.leftChild.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.leftChild = node;
+        node.parent = pivot;
+        update(node);
+        update(pivot);
+        rotations++;
+
+        return pivot;
+    }
+
+    private Node<K, V> rotateRight(Node<K, V> node){
+        Node<K, V> pivot = node.leftChild;
+        node.leftChild = pivot.rightChild;
+        if(pivot.rightChild != null){
+            pivot.rightChild.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.rightChild = node;
+        node.parent = pivot;
+        update(node);
+        update(pivot);
+        rotations++;
+
+        return pivot;
+    }
+
+    private Node<K, V> inOrderSuccessor(Node<K, V> node){
+        if(node.rightChild != null){
+            return findMinBeginsWith(node.rightChild);
+        }
+        Node<K, V> current = node;
+        while(current.parent != null && current.parent.rightChild == current){
+            current = current.parent;
+        }
 
+        return current.parent;
+    }
+
+    private Node<K, V> preOrderSuccessor(Node<K, V> node){
+        if(node.leftChild != null){
+            return node.leftChild;
         }
+        if(node.rightChild != null){
+            return node.rightChild;
+        }
+        Node<K, V> current = node;
+        while(current.parent != null){
+            if(current.parent.leftChild == current && current.parent.rightChild != null){
+                return current.parent.rightChild;
+            }
+            current = current.parent;
+        }
+
+        return null;
+    }
+
+    private Node<K, V> postOrderFirst(Node<K, V> node){
+        Node<K, V> current = node;
+        while(current != null && (current.leftChild != null || current.rightChild != null)){
+            current = current.leftChild != null ? current.leftChild : current.rightChild;
+        }
+
+        return current;
     }
 
-    private void inOrder(Node<K, V> node){
-        if(node != null){
-            inOrder(node.leftChild);
-            System.out.println(node);
-            inOrder(node.rightChild);
+    private Node<K, V> postOrderSuccessor(Node<K, V> node){
+        Node<K, V> parent = node.parent;
+        if(parent == null){
+            return null;
         }
+        if(parent.rightChild == node || parent.rightChild == null){
+            return parent;
+        }
+
+        return postOrderFirst(parent.rightChild);
+    }
+
+    private interface Successor<K, V> {
+        Node<K, V> next(Node<K, V> node);
+    }
+
+    private Iterator<Map.Entry<K, V>> traversal(Node<K, V> first, Successor<K, V> successor){
+        return new Iterator<Map.Entry<K, V>>() {
+            private Node<K, V> next = first;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if(next == null){
+                    throw new NoSuchElementException();
+                }
+                Node<K, V> current = next;
+                next = successor.next(current);
+
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Повертає ітератор симетричного обходу дерева, тобто по парах ключ-значення в порядку зростання ключів.
+     * Обхід використовує посилання на батьківські вузли і не створює нових об'єктів для кожного елемента.
+     * Повернуті пари не підтримують {@code setValue} і не змінюються при видаленні інших пар
+     * @return ітератор по парах ключ-значення
+     */
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator(){
+        return traversal(root == null ? null : findMinBeginsWith(root), this::inOrderSuccessor);
+    }
+
+    /**
+     * Повертає ітератор прямого обходу дерева
+     * @return ітератор по парах ключ-значення
+     */
+
+    public Iterator<Map.Entry<K, V>> preOrderIterator(){
+        return traversal(root, this::preOrderSuccessor);
+    }
+
+    /**
+     * Повертає ітератор оберненого обходу дерева
+     * @return ітератор по парах ключ-значення
+     */
+
+    public Iterator<Map.Entry<K, V>> postOrderIterator(){
+        return traversal(postOrderFirst(root), this::postOrderSuccessor);
+    }
+
+    /**
+     * Повертає сплітератор по парах ключ-значення в порядку зростання ключів
+     * @return сплітератор з характеристиками ORDERED та SIZED
+     */
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator(){
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Повертає послідовний потік пар ключ-значення в порядку зростання ключів
+     * @return потік пар ключ-значення
+     */
+
+    public Stream<Map.Entry<K, V>> stream(){
+        return StreamSupport.stream(spliterator(), false);
     }
 
-    private void postOrder(Node<K, V> node){
-        if(node != null){
-            postOrder(node.leftChild);
-            postOrder(node.rightChild);
-            System.out.println(node);
+    private static void print(Iterator<?> iterator){
+        while(iterator.hasNext()){
+            System.out.println(iterator.next());
         }
     }
 
@@ -235,7 +696,7 @@ public class BinaryTree<K extends Comparable<K>, V> {
      */
 
     public void preOrder(){
-        preOrder(root);
+        print(preOrderIterator());
     }
 
     /**
@@ -243,7 +704,7 @@ public class BinaryTree<K extends Comparable<K>, V> {
      */
 
     public void inOrder(){
-        inOrder(root);
+        print(iterator());
     }
 
     /**
@@ -251,6 +712,6 @@ public class BinaryTree<K extends Comparable<K>, V> {
      */
 
     public void postOrder(){
-        postOrder(root);
+        print(postOrderIterator());
     }
 }
@@ -0,0 +1,243 @@
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Реалізація обмеженої черги з пріоритетом, безпечної для використання з багатьох потоків.
+ * <p>
+ * Черга складається з кількох двійкових куч ({@link Heap}), кожна з яких має власне блокування.
+ * Додавання вставляє пару в випадкову вільну кучу, а вилучення порівнює найбільші ключі
+ * двох випадкових куч і забирає більший з них. Тому потоки рідко конкурують за одне блокування,
+ * але порядок вилучення є наближеним: вилучається один з найбільших ключів, а не обов'язково найбільший.
+ * Черга з однією кучею вилучає елементи строго за спаданням ключів.
+ * <p>
+ * Методи {@link #offer} та {@link #poll()} не чекають, а {@link #put} та {@link #take()}
+ * призупиняють потік, доки в черзі не з'явиться місце чи елемент відповідно
+ * @param <K> параметр типу ключа, за яким знаходяться відповідні значення.
+ * Параметр типу ключа повинен реалізувати інтерфейс Comparable, для реалізації основних методів
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+public class ConcurrentHeap<K extends Comparable<K>, V> {
+
+    private static class Stripe<K extends Comparable<K>, V> {
+        final Heap<K, V> heap = new Heap<>();
+        final ReentrantLock lock = new ReentrantLock();
+        volatile K top;
+    }
+
+    private final Stripe<K, V>[] stripes;
+    private final Semaphore items = new Semaphore(0);
+    private final Semaphore slots;
+
+    /**
+     * Створює необмежену чергу з кількістю куч, вдвічі більшою за кількість доступних ядер
+     */
+
+    public ConcurrentHeap() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Створює обмежену чергу з кількістю куч, вдвічі більшою за кількість доступних ядер
+     * @param capacity максимальна кількість елементів в черзі
+     * @throws IllegalArgumentException якщо значення {@param capacity} менше за 1
+     */
+
+    public ConcurrentHeap(int capacity) {
+        this(capacity, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Створює обмежену чергу із заданою кількістю куч
+     * @param capacity максимальна кількість елементів в черзі
+     * @param stripes кількість куч; одна куча забезпечує строгий порядок вилучення
+     * @throws IllegalArgumentException якщо значення {@param capacity} або {@param stripes} менше за 1
+     */
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentHeap(int capacity, int stripes) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Місткість черги повинна бути додатньою");
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Кількість куч повинна бути додатньою");
+        }
+        this.slots = capacity == Integer.MAX_VALUE ? null : new Semaphore(capacity);
+        this.stripes = (Stripe<K, V>[]) new Stripe<?, ?>[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Повертає кількість елементів в черзі. За наявності конкурентних змін
+     * результат є наближеним
+     * @return кількість елементів в черзі
+     */
+
+    public int size() {
+        return items.availablePermits();
+    }
+
+    /**
+     * Перевіряє чи черга містить елементи
+     * @return логічне {@code true}, якщо черга пуста, {@code false} - інакше
+     */
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Повертає кількість елементів, які можна додати без очікування
+     * @return вільне місце в черзі, або {@link Integer#MAX_VALUE} для необмеженої черги
+     */
+
+    public int remainingCapacity() {
+        return slots == null ? Integer.MAX_VALUE : slots.availablePermits();
+    }
+
+    /**
+     * Додає пару ключ-значення, якщо в черзі є місце
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     * @return логічне {@code true}, якщо пару додано, {@code false} - якщо черга заповнена
+     */
+
+    public boolean offer(K key, V value) {
+        if (slots != null && !slots.tryAcquire()) {
+            return false;
+        }
+        insert(key, value);
+
+        return true;
+    }
+
+    /**
+     * Додає пару ключ-значення, чекаючи на звільнення місця, якщо черга заповнена
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     * @throws InterruptedException якщо потік перервано під час очікування
+     */
+
+    public void put(K key, V value) throws InterruptedException {
+        if (slots != null) {
+            slots.acquire();
+        }
+        insert(key, value);
+    }
+
+    /**
+     * Видаляє пару ключ-значення з черги і повертає відповідне значення
+     * @return значення, яке відповідає одному з найбільших ключів, якщо черга не пуста;
+     * {@code null} якщо черга пуста
+     */
+
+    public V poll() {
+        if (!items.tryAcquire()) {
+            return null;
+        }
+
+        return extract();
+    }
+
+    /**
+     * Видаляє пару ключ-значення з черги, чекаючи не довше заданого часу, якщо черга пуста
+     * @param timeout максимальний час очікування
+     * @param unit одиниця виміру {@code timeout}
+     * @return значення, яке відповідає одному з найбільших ключів, або {@code null},
+     * якщо елемент не з'явився за відведений час
+     * @throws InterruptedException якщо потік перервано під час очікування
+     */
+
+    public V poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!items.tryAcquire(timeout, unit)) {
+            return null;
+        }
+
+        return extract();
+    }
+
+    /**
+     * Видаляє пару ключ-значення з черги, чекаючи на появу елемента, якщо черга пуста
+     * @return значення, яке відповідає одному з найбільших ключів
+     * @throws InterruptedException якщо потік перервано під час очікування
+     */
+
+    public V take() throws InterruptedException {
+        items.acquire();
+
+        return extract();
+    }
+
+    private void insert(K key, V value) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; ; attempt++) {
+            Stripe<K, V> stripe = stripes[random.nextInt(stripes.length)];
+            if (attempt < stripes.length) {
+                if (!stripe.lock.tryLock()) continue;
+            } else {
+                stripe.lock.lock();
+            }
+            try {
+                stripe.heap.add(key, value);
+                stripe.top = stripe.heap.peekKey();
+            } finally {
+                stripe.lock.unlock();
+            }
+            items.release();
+            return;
+        }
+    }
+
+    /**
+     * Вилучає елемент після того, як потік отримав дозвіл {@code items}.
+     * Кожен дозвіл відповідає елементу, вже вставленому в одну з куч
+     * і ще не вилученому іншим потоком, тому пошук завжди завершується
+     */
+
+    private V extract() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Stripe<K, V> stripe = larger(stripes[random.nextInt(stripes.length)],
+                    stripes[random.nextInt(stripes.length)]);
+            if (stripe == null) {
+                for (Stripe<K, V> candidate : stripes) {
+                    stripe = larger(stripe, candidate);
+                }
+                if (stripe == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+            }
+
+            stripe.lock.lock();
+            try {
+                if (stripe.heap.isEmpty()) continue;
+                V value = stripe.heap.poll();
+                stripe.top = stripe.heap.isEmpty() ? null : stripe.heap.peekKey();
+                if (slots != null) {
+                    slots.release();
+                }
+                return value;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private Stripe<K, V> larger(Stripe<K, V> first, Stripe<K, V> second) {
+        K firstTop = first == null ? null : first.top;
+        K secondTop = second.top;
+        if (firstTop == null) {
+            return secondTop == null ? null : second;
+        }
+        if (secondTop == null) {
+            return first;
+        }
+
+        return firstTop.compareTo(secondTop) >= 0 ? first : second;
+    }
+}
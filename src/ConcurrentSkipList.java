@@ -0,0 +1,331 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Реалізація впорядкованого асоціативного масиву на основі списку з пропусками,
+ * безпечна для використання з багатьох потоків (лінивий список з пропусками).
+ * <p>
+ * Пошук ніколи не блокується: він проходить посиланнями між вузлами і пропускає
+ * вузли, що ще додаються чи вже видаляються. Додавання та видалення блокують лише
+ * сусідні вузли на рівнях, які змінюються, тому операції з різними ключами
+ * виконуються паралельно. Як і в {@link BPlusTree}, повторне додавання ключа
+ * замінює відповідне значення
+ * @param <K> параметр типу ключа, за яким знаходяться відповідні значення.
+ * Параметр ключа повинен реалізувати інтерфейс Comparable, для реалізації основних методів
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+public class ConcurrentSkipList<K extends Comparable<K>, V> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL - 1);
+    private final Node<K, V> tail = new Node<>(null, null, MAX_LEVEL - 1);
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger highestLevel = new AtomicInteger();
+
+    private static class Node<K, V> {
+        final K key;
+        volatile V value;
+        final int topLevel;
+        final AtomicReferenceArray<Node<K, V>> next;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile boolean marked;
+        volatile boolean fullyLinked;
+
+        Node(K key, V value, int topLevel) {
+            this.key = key;
+            this.value = value;
+            this.topLevel = topLevel;
+            this.next = new AtomicReferenceArray<>(topLevel + 1);
+        }
+    }
+
+    /**
+     * Створює пустий список з пропусками
+     */
+
+    public ConcurrentSkipList(){
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next.set(level, tail);
+        }
+        head.fullyLinked = true;
+        tail.fullyLinked = true;
+    }
+
+    /**
+     * Перевіряє чи список містить елементи
+     * @return логічне {@code true}, якщо даний список пустий, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size.get() == 0;
+    }
+
+    /**
+     * Повертає кількість елементів в списку. За наявності конкурентних змін
+     * результат є наближеним
+     * @return кількість елементів в списку
+     */
+
+    public int size(){
+        return size.get();
+    }
+
+    /**
+     * Додає пару ключ-значення. Якщо ключ вже існує, замінює відповідне значення
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     */
+
+    @SuppressWarnings("unchecked")
+    public void add(K key, V value){
+        int topLevel = randomLevel();
+        Node<K, V>[] preds = (Node<K, V>[]) new Node<?, ?>[MAX_LEVEL];
+        Node<K, V>[] succs = (Node<K, V>[]) new Node<?, ?>[MAX_LEVEL];
+        while(true){
+            int levelFound = find(key, preds, succs);
+            if(levelFound != -1){
+                Node<K, V> found = succs[levelFound];
+                if(!found.marked){
+                    while(!found.fullyLinked){
+                        Thread.onSpinWait();
+                    }
+                    found.value = value;
+                    return;
+                }
+                continue;
+            }
+
+            int highestLocked = -1;
+            try{
+                boolean valid = true;
+                Node<K, V> previous = null;
+                for (int level = 0; valid && level <= topLevel; level++) {
+                    Node<K, V> pred = preds[level];
+                    Node<K, V> succ = succs[level];
+                    if(pred != previous){
+                        pred.lock.lock();
+                        highestLocked = level;
+                        previous = pred;
+                    }
+                    valid = !pred.marked && !succ.marked && pred.next.get(level) == succ;
+                }
+                if(!valid){
+                    continue;
+                }
+
+                Node<K, V> node = new Node<>(key, value, topLevel);
+                for (int level = 0; level <= topLevel; level++) {
+                    node.next.set(level, succs[level]);
+                }
+                for (int level = 0; level <= topLevel; level++) {
+                    preds[level].next.set(level, node);
+                }
+                node.fullyLinked = true;
+                size.incrementAndGet();
+                highestLevel.accumulateAndGet(topLevel, Math::max);
+                return;
+            }finally{
+                unlock(preds, highestLocked);
+            }
+        }
+    }
+
+    /**
+     * Знаходить значення за ключем, не блокуючи потік
+     * @param key ключ, за яким відбувається пошук
+     * @return значення, якщо відповідна пара ключ-значення існує
+     * @throws NoSuchElementException якщо відповідної пари ключ-значення немає
+     */
+
+    public V get(K key){
+        Node<K, V> pred = head;
+        for (int level = highestLevel.get(); level >= 0; level--) {
+            Node<K, V> current = pred.next.get(level);
+            while(current != tail && current.key.compareTo(key) < 0){
+                pred = current;
+                current = pred.next.get(level);
+            }
+            if(current != tail && current.key.compareTo(key) == 0){
+                V value = current.value;
+                if(current.fullyLinked && !current.marked){
+                    return value;
+                }
+                break;
+            }
+        }
+
+        throw new NoSuchElementException("Не вдалося знайти заданий елемент");
+    }
+
+    /**
+     * Знаходить значення, яке відповідає мінімальному за величиною ключу
+     * @return значення, яке відповідає мінімальному за величиною ключу
+     * @throws NoSuchElementException якщо список пустий
+     */
+
+    public V min(){
+        for(Node<K, V> current = head.next.get(0); current != tail; current = current.next.get(0)){
+            V value = current.value;
+            if(current.fullyLinked && !current.marked){
+                return value;
+            }
+        }
+
+        throw new NoSuchElementException("Неможливо знайти елемент так як список пустий");
+    }
+
+    /**
+     * Знаходить значення, яке відповідає максимальному за величиною ключу, не блокуючи потік.
+     * Якщо останній вузол видаляється або ще додається, повертається останній живий вузол,
+     * пройдений на нижньому рівні; якщо такого немає, пошук повторюється серед менших ключів
+     * @return значення, яке відповідає максимальному за величиною ключу
+     * @throws NoSuchElementException якщо список пустий
+     */
+
+    public V max(){
+        Node<K, V> bound = tail;
+        while(true){
+            Node<K, V> pred = head;
+            for (int level = highestLevel.get(); level > 0; level--) {
+                Node<K, V> current = pred.next.get(level);
+                while(isBefore(current, bound)){
+                    pred = current;
+                    current = pred.next.get(level);
+                }
+            }
+            Node<K, V> live = null;
+            V value = null;
+            for(Node<K, V> current = pred; current == pred || isBefore(current, bound); current = current.next.get(0)){
+                V currentValue = current.value;
+                if(current != head && current.fullyLinked && !current.marked){
+                    live = current;
+                    value = currentValue;
+                }
+            }
+            if(live != null){
+                return value;
+            }
+            if(pred == head){
+                throw new NoSuchElementException("Неможливо знайти елемент так як список пустий");
+            }
+            bound = pred;
+        }
+    }
+
+    /**
+     * Перевіряє, що вузол не є хвостом і його ключ не більший за ключ межі {@code bound},
+     * якою не є сам вузол
+     */
+
+    private boolean isBefore(Node<K, V> node, Node<K, V> bound){
+        return node != tail && node != bound && (bound == tail || node.key.compareTo(bound.key) <= 0);
+    }
+
+    /**
+     * Видаляє пару ключ-значення
+     * @param key ключ, за яким відбувається видалення пари
+     * @throws NoSuchElementException якщо відповідної пари ключ-значення немає
+     */
+
+    @SuppressWarnings("unchecked")
+    public void remove(K key){
+        Node<K, V> victim = null;
+        boolean isMarked = false;
+        int topLevel = -1;
+        Node<K, V>[] preds = (Node<K, V>[]) new Node<?, ?>[MAX_LEVEL];
+        Node<K, V>[] succs = (Node<K, V>[]) new Node<?, ?>[MAX_LEVEL];
+        while(true){
+            int levelFound = find(key, preds, succs);
+            if(!isMarked && (levelFound == -1 || !canDelete(succs[levelFound], levelFound))){
+                throw new NoSuchElementException("Не вдалося знайти заданий елемент");
+            }
+            if(!isMarked){
+                victim = succs[levelFound];
+                topLevel = victim.topLevel;
+                victim.lock.lock();
+                if(victim.marked){
+                    victim.lock.unlock();
+                    throw new NoSuchElementException("Не вдалося знайти заданий елемент");
+                }
+                victim.marked = true;
+                isMarked = true;
+            }
+
+            int highestLocked = -1;
+            try{
+                boolean valid = true;
+                Node<K, V> previous = null;
+                for (int level = 0; valid && level <= topLevel; level++) {
+                    Node<K, V> pred = preds[level];
+                    if(pred != previous){
+                        pred.lock.lock();
+                        highestLocked = level;
+                        previous = pred;
+                    }
+                    valid = !pred.marked && pred.next.get(level) == victim;
+                }
+                if(!valid){
+                    continue;
+                }
+
+                for (int level = topLevel; level >= 0; level--) {
+                    preds[level].next.set(level, victim.next.get(level));
+                }
+                victim.lock.unlock();
+                size.decrementAndGet();
+                return;
+            }finally{
+                unlock(preds, highestLocked);
+            }
+        }
+    }
+
+    private int find(K key, Node<K, V>[] preds, Node<K, V>[] succs){
+        int levelFound = -1;
+        int highest = highestLevel.get();
+        for (int level = MAX_LEVEL - 1; level > highest; level--) {
+            preds[level] = head;
+            succs[level] = tail;
+        }
+        Node<K, V> pred = head;
+        for (int level = highest; level >= 0; level--) {
+            Node<K, V> current = pred.next.get(level);
+            while(current != tail && current.key.compareTo(key) < 0){
+                pred = current;
+                current = pred.next.get(level);
+            }
+            if(levelFound == -1 && current != tail && current.key.compareTo(key) == 0){
+                levelFound = level;
+            }
+            preds[level] = pred;
+            succs[level] = current;
+        }
+
+        return levelFound;
+    }
+
+    private static boolean canDelete(Node<?, ?> candidate, int levelFound){
+        return candidate.fullyLinked && candidate.topLevel == levelFound && !candidate.marked;
+    }
+
+    private static void unlock(Node<?, ?>[] preds, int highestLocked){
+        Node<?, ?> previous = null;
+        for (int level = 0; level <= highestLocked; level++) {
+            if(preds[level] != previous){
+                preds[level].lock.unlock();
+                previous = preds[level];
+            }
+        }
+    }
+
+    private static int randomLevel(){
+        int level = Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+
+        return Math.min(level, MAX_LEVEL - 1);
+    }
+}
@@ -0,0 +1,209 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Реалізація d-арної кучі.
+ * Кожен вузол має до {@code d} нащадків, тому дерево є нижчим, ніж у двійковій кучі,
+ * а всі нащадки вузла розташовані в масиві поспіль. Ключі та значення зберігаються
+ * в окремих масивах, тому при просіюванні порівнюються лише сусідні елементи масиву ключів
+ * @param <K> параметр типу ключа, за яким знаходяться відповідні значення в купі.
+ * Параметр типу ключа повинен реалізувати інтерфейс Comparable, для реалізації основних методів
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+public class DaryHeap<K extends Comparable<K>, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private GenericContainer<K> keys;
+    private GenericContainer<V> values;
+    private int currentSize;
+
+    /**
+     * Створює 4-арну кучу з початковою місткістю в 16 елементів
+     */
+
+    public DaryHeap() {
+        this(4, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Створює d-арну кучу
+     * @param arity кількість нащадків кожного вузла
+     * @param capacity початковий розмір масивів
+     * @throws IllegalArgumentException якщо значення {@param arity} менше за 2,
+     * або значення {@param capacity} менше за 1
+     */
+
+    public DaryHeap(int arity, int capacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Кількість нащадків повинна бути не менше 2");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Розмір масиву повинен бути додатнім");
+        }
+        this.arity = arity;
+        keys = new GenericContainer<>(capacity);
+        values = new GenericContainer<>(capacity);
+    }
+
+    /**
+     * Перевіряє чи куча містить елементи
+     * @return логічне {@code true}, якщо дана куча пуста,
+     * {@code false} - інакше
+     */
+
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Повертає розмір кучі
+     * @return розмір кучі
+     */
+
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Повертає кількість нащадків кожного вузла
+     * @return арність кучі
+     */
+
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Додає пару ключ-значення в кучу
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     * @return логічне {@code true}, оскільки масиви розширюються при заповненні
+     */
+
+    public boolean add(K key, V value) {
+        if (currentSize == keys.size()) {
+            keys.resize(2 * keys.size());
+            values.resize(2 * values.size());
+        }
+        trickleUp(currentSize++, key, value);
+
+        return true;
+    }
+
+    /**
+     * Видаляє пару ключ-значення з кучі і повертає відповідне значення
+     * @return значення, яке відповідає найбільшому ключу
+     * @throws NoSuchElementException якщо куча є пустою
+     */
+
+    public V remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Неможливо видалити елемент, так як куча є пустою");
+        }
+
+        return poll();
+    }
+
+    /**
+     * Видаляє пару ключ-значення з кучі і повертає відповідне значення
+     * @return значення, яке відповідає найбільшому ключу, якщо куча не пуста;
+     * {@code null} якщо куча пуста
+     */
+
+    public V poll() {
+        if (isEmpty()) {
+            return null;
+        }
+        V root = values.get(0);
+        K lastKey = keys.get(--currentSize);
+        V lastValue = values.get(currentSize);
+        keys.set(currentSize, null);
+        values.set(currentSize, null);
+        if (currentSize > 0) {
+            trickleDown(0, lastKey, lastValue);
+        }
+
+        return root;
+    }
+
+    /**
+     * Змінює значення ключа для пари ключ-значення,
+     * що знаходиться на заданій позиції в масиві, який являє собою куча
+     * @param index позиція в масиві, на якій знаходиться ключ
+     * @param newValue нове значення ключа
+     * @return логічне {@code true} якщо зміна відбулась успішно,
+     * {@code false} - інкаше
+     */
+
+    public boolean change(int index, K newValue) {
+        if (index < 0 || index >= currentSize) return false;
+        K oldValue = keys.get(index);
+        if (oldValue.compareTo(newValue) < 0) {
+            trickleUp(index, newValue, values.get(index));
+        } else {
+            trickleDown(index, newValue, values.get(index));
+        }
+        return true;
+    }
+
+    private void trickleUp(int index, K key, V value) {
+        int moves = 0;
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            K parentKey = keys.get(parent);
+            if (parentKey.compareTo(key) >= 0) break;
+            keys.set(index, parentKey);
+            values.set(index, values.get(parent));
+            index = parent;
+            moves++;
+        }
+        keys.set(index, key);
+        values.set(index, value);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_UP_MOVES, moves);
+        }
+    }
+
+    private void trickleDown(int index, K key, V value) {
+        int moves = 0;
+        while (true) {
+            int firstChild = arity * index + 1;
+            if (firstChild >= currentSize) break;
+
+            int lastChild = Math.min(firstChild + arity, currentSize);
+            int largestChild = firstChild;
+            K largestKey = keys.get(firstChild);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                K childKey = keys.get(child);
+                if (largestKey.compareTo(childKey) < 0) {
+                    largestChild = child;
+                    largestKey = childKey;
+                }
+            }
+
+            if (key.compareTo(largestKey) >= 0) break;
+
+            keys.set(index, largestKey);
+            values.set(index, values.get(largestChild));
+            index = largestChild;
+            moves++;
+        }
+        keys.set(index, key);
+        values.set(index, value);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_DOWN_MOVES, moves);
+        }
+    }
+
+    @Override
+    public String toString(){
+        String result = "";
+        for(int i = 0; i < currentSize; i++){
+            result += "Node #" + i + ": Key = " + keys.get(i) + "; Value = " + values.get(i) + "\n";
+        }
+
+        return result;
+    }
+}
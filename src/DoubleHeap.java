@@ -0,0 +1,200 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Реалізація двійкової кучі з ключами типу {@code double}.
+ * Ключі зберігаються в масиві {@code double[]} паралельно до масиву значень,
+ * тому додавання та видалення не створюють нових об'єктів, доки масиви не заповняться
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+public class DoubleHeap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] keys;
+    private GenericContainer<V> values;
+    private int currentSize;
+
+    /**
+     * Створює двійкову кучу з початковою місткістю в 16 елементів
+     */
+
+    public DoubleHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Створює двійкову кучу з заданою початковою місткістю
+     * @param capacity початковий розмір масивів
+     * @throws IllegalArgumentException якщо значення {@param capacity} менше за 1
+     */
+
+    public DoubleHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Розмір масиву повинен бути додатнім");
+        }
+        keys = new double[capacity];
+        values = new GenericContainer<>(capacity);
+    }
+
+    /**
+     * Перевіряє чи двійкова куча містить елементи
+     * @return логічне {@code true}, якщо дана двійкова куча пуста,
+     * {@code false} - інакше
+     */
+
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Повертає розмір двійкової кучі
+     * @return розмір двійкової кучі
+     */
+
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Додає пару ключ-значення в двійкову кучу
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     */
+
+    public void add(double key, V value) {
+        if (currentSize == keys.length) {
+            keys = Arrays.copyOf(keys, 2 * keys.length);
+            values.resize(keys.length);
+        }
+        trickleUp(currentSize++, key, value);
+    }
+
+    /**
+     * Повертає найбільший ключ двійкової кучі
+     * @return найбільший ключ
+     * @throws NoSuchElementException якщо двійкова куча є пустою
+     */
+
+    public double peekKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Двійкова куча є пустою");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Повертає значення, яке відповідає найбільшому ключу, не видаляючи його
+     * @return значення, яке відповідає найбільшому ключу, якщо двійкова куча не пуста;
+     * {@code null} якщо двійкова куча пуста
+     */
+
+    public V peek() {
+        return isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Видаляє пару ключ-значення з двійкової кучі і повертає відповідне значення
+     * @return значення, яке відповідає найбільшому ключу
+     * @throws NoSuchElementException якщо двійкова куча є пустою
+     */
+
+    public V remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Неможливо видалити елемент, так як двійкова куча є пустою");
+        }
+
+        return poll();
+    }
+
+    /**
+     * Видаляє пару ключ-значення з двійкової кучі і повертає відповідне значення
+     * @return значення, яке відповідає найбільшому ключу, якщо двійкова куча не пуста;
+     * {@code null} якщо двійкова куча пуста
+     */
+
+    public V poll() {
+        if (isEmpty()) {
+            return null;
+        }
+        V root = values.get(0);
+        double lastKey = keys[--currentSize];
+        V lastValue = values.get(currentSize);
+        values.set(currentSize, null);
+        if (currentSize > 0) {
+            trickleDown(0, lastKey, lastValue);
+        }
+
+        return root;
+    }
+
+    /**
+     * Змінює значення ключа для пари ключ-значення,
+     * що знаходиться на заданій позиції в масиві, який являє собою двійкова куча
+     * @param index позиція в масиві, на якій знаходиться ключ
+     * @param newValue нове значення ключа
+     * @return логічне {@code true} якщо зміна відбулась успішно,
+     * {@code false} - інкаше
+     */
+
+    public boolean change(int index, double newValue) {
+        if (index < 0 || index >= currentSize) return false;
+        if (Double.compare(keys[index], newValue) < 0) {
+            trickleUp(index, newValue, values.get(index));
+        } else {
+            trickleDown(index, newValue, values.get(index));
+        }
+        return true;
+    }
+
+    private void trickleUp(int index, double key, V value) {
+        int moves = 0;
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (Double.compare(keys[parent], key) >= 0) break;
+            keys[index] = keys[parent];
+            values.set(index, values.get(parent));
+            index = parent;
+            moves++;
+        }
+        keys[index] = key;
+        values.set(index, value);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_UP_MOVES, moves);
+        }
+    }
+
+    private void trickleDown(int index, double key, V value) {
+        int moves = 0;
+        while (index < currentSize / 2) {
+            int largerChild = 2 * index + 1;
+            int rightChild = largerChild + 1;
+            if (rightChild < currentSize && Double.compare(keys[largerChild], keys[rightChild]) < 0) {
+                largerChild = rightChild;
+            }
+
+            if (Double.compare(key, keys[largerChild]) >= 0) break;
+
+            keys[index] = keys[largerChild];
+            values.set(index, values.get(largerChild));
+            index = largerChild;
+            moves++;
+        }
+        keys[index] = key;
+        values.set(index, value);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_DOWN_MOVES, moves);
+        }
+    }
+
+    @Override
+    public String toString(){
+        String result = "";
+        for(int i = 0; i < currentSize; i++){
+            result += "Node #" + i + ": Key = " + keys[i] + "; Value = " + values.get(i) + "\n";
+        }
+
+        return result;
+    }
+}
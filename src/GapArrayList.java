@@ -0,0 +1,338 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Реалізація списку на основі буфера з розривом.
+ * Вільне місце масиву зберігається у вигляді розриву в позиції останньої зміни,
+ * тому вставки та видалення поруч з попередньою зміною переміщують лише елементи
+ * між старою та новою позицією розриву, а не весь хвіст списку.
+ * Послідовні зміни в одному місці виконуються за амортизований час O(1),
+ * доступ за індексом залишається O(1)
+ * @param <T> параметр типу елементів списку
+ */
+
+@SuppressWarnings("unchecked")
+public class GapArrayList<T> implements Iterable<T> {
+
+    private final GrowthPolicy growthPolicy;
+    private T[] elementData;
+    private int gapStart;
+    private int gapEnd;
+
+    /**
+     * Створює список з місткістю в 10 елементів
+     */
+
+    public GapArrayList(){
+        this(10);
+    }
+
+    /**
+     * Створює список з заданою місткістю
+     * @param capacity місткість створюваного списку
+     */
+
+    public GapArrayList(int capacity){
+        this(capacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Створює список з заданою місткістю та стратегією розширення
+     * @param capacity місткість створюваного списку
+     * @param growthPolicy стратегія, за якою обчислюється нова місткість при заповненні списку
+     */
+
+    public GapArrayList(int capacity, GrowthPolicy growthPolicy){
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        elementData = (T[]) new Object[capacity];
+        gapEnd = capacity;
+    }
+
+    /**
+     * Повертає кількість елементів в списку
+     * @return кількість елементів в списку
+     */
+
+    public int size(){
+        return elementData.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Перевіряє чи список містить елементи
+     * @return логічне {@code true}, якщо даний список пустий, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    /**
+     * Повертає кількість елементів, яку список вміщує без розширення
+     * @return місткість списку
+     */
+
+    public int capacity(){
+        return elementData.length;
+    }
+
+    /**
+     * Змінює місткість списку, якщо нинішня місткість менша за {@code capacity}.
+     * Нова місткість визначається стратегією розширення списку
+     * @param capacity нова місткість списку
+     * @throws IllegalStateException якщо {@code capacity} перевищує максимальну довжину масиву
+     */
+
+    public void ensureCapacity(int capacity){
+        if(capacity > elementData.length){
+            int newSize = growthPolicy.grow(elementData.length, capacity);
+            int tail = elementData.length - gapEnd;
+
+            T[] newElementData = (T[]) new Object[newSize];
+            System.arraycopy(elementData, 0, newElementData, 0, gapStart);
+            System.arraycopy(elementData, gapEnd, newElementData, newSize - tail, tail);
+            elementData = newElementData;
+            gapEnd = newSize - tail;
+        }
+    }
+
+    /**
+     * Додає заданий елемент в список на задану позицію
+     * @param element елемент, який додається
+     * @param index позиція в списку, на яку додається елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * більше за розмір списку, або менше за 0
+     */
+
+    public void add(T element, int index){
+        if(index < 0 || index > size()){
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(size() + 1);
+        moveGap(index);
+        elementData[gapStart++] = element;
+    }
+
+    /**
+     * Додає всі елементи заданого списку в список
+     * на задану позицію
+     * @param list список, елементи якого додаються
+     * @param index позиція в списку, на яку додаються елементи
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * більше за розмір списку, або менше за 0
+     */
+
+    public void addAll(ArrayList<T> list, int index){
+        if(index < 0 || index > size()){
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(size() + list.size());
+        moveGap(index);
+        for (T element : list) {
+            elementData[gapStart++] = element;
+        }
+    }
+
+    /**
+     * Додає заданий елемент в кінець списку
+     * @param element елемент, який додається
+     */
+
+    public void add(T element){
+        add(element, size());
+    }
+
+    /**
+     * Повертає елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @return елемент на позиції {@param index}
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public T get(int index){
+        if(index < 0 || index >= size()){
+            throw new IndexOutOfBoundsException();
+        }
+
+        return elementData[physicalIndex(index)];
+    }
+
+    /**
+     * Замінює елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @param element новий елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void set(int index, T element){
+        if(index < 0 || index >= size()){
+            throw new IndexOutOfBoundsException();
+        }
+        elementData[physicalIndex(index)] = element;
+    }
+
+    /**
+     * Перевіряє чи список містить заданий елемент
+     * @param element елемент, наявність якого потрібно знайти
+     * @return логічне {@code true} якщо елемент наявний в списку,
+     * {@code false} - інакше
+     */
+
+    public boolean contains(T element){
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Знаходить позицію елемента в списку
+     * @param element елемент, позицію в списку якого потрібно знайти
+     * @return позицію в списку, на якій знаходиться {@param element}
+     * @throws NoSuchElementException якщо елемент не знайдено
+     */
+
+    public int find(T element){
+        int index = indexOf(element);
+        if(index < 0){
+            throw new NoSuchElementException("Даний елемент не знайдено");
+        }
+
+        return index;
+    }
+
+    /**
+     * Видаляє елемент на відповідній позиції зі списку
+     * @param index позиція, на якій видаляється елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void remove(int index){
+        if(index < 0 || index >= size()){
+            throw new IndexOutOfBoundsException();
+        }
+        moveGap(index);
+        elementData[gapEnd++] = null;
+    }
+
+    /**
+     * Видаляє всі елементи зі списку в заданому діапазоні
+     * @param start індекс початку діапазону(включно)
+     * @param end індекс кінця діапазону(виключно)
+     * @throws IllegalArgumentException якщо значення {@param start}
+     * не менше за значення {@param end}
+     * @throws IndexOutOfBoundsException якщо значення {@param end}
+     * більше за розмір списку, або значення {@param start}
+     * менше за 0
+     */
+
+    public void removeRange(int start, int end){
+        if(end <= start){
+            throw new IllegalArgumentException();
+        }
+        if(end > size() || start < 0){
+            throw new IndexOutOfBoundsException();
+        }
+        moveGap(start);
+        Arrays.fill(elementData, gapEnd, gapEnd + (end - start), null);
+        gapEnd += end - start;
+    }
+
+    /**
+     * Повертає ітератор по елементах списку в порядку їх розташування
+     * @return ітератор по елементах списку
+     */
+
+    @Override
+    public Iterator<T> iterator(){
+        return new Iterator<T>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size();
+            }
+
+            @Override
+            public T next() {
+                if(cursor >= size()){
+                    throw new NoSuchElementException();
+                }
+                return elementData[physicalIndex(cursor++)];
+            }
+        };
+    }
+
+    /**
+     * Повертає сплітератор по елементах списку в порядку їх розташування
+     * @return сплітератор з характеристиками ORDERED та SIZED
+     */
+
+    @Override
+    public Spliterator<T> spliterator(){
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Повертає послідовний потік елементів списку
+     * @return потік елементів списку
+     */
+
+    public Stream<T> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private int physicalIndex(int index){
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * Переміщує розрив так, щоб він починався перед елементом з індексом {@code index},
+     * копіюючи лише елементи між старою та новою позицією розриву
+     */
+
+    private void moveGap(int index){
+        if(index < gapStart){
+            int count = gapStart - index;
+            System.arraycopy(elementData, index, elementData, gapEnd - count, count);
+            Arrays.fill(elementData, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart = index;
+            gapEnd -= count;
+        }else if(index > gapStart){
+            int count = index - gapStart;
+            System.arraycopy(elementData, gapEnd, elementData, gapStart, count);
+            Arrays.fill(elementData, Math.max(gapEnd, index), gapEnd + count, null);
+            gapStart = index;
+            gapEnd += count;
+        }
+    }
+
+    private int indexOf(T element){
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            if(Objects.equals(elementData[physicalIndex(i)], element)){
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        int size = size();
+        if(size == 0) return "[ ]";
+        StringBuilder result = new StringBuilder("[ ");
+        for (int i = 0; i < size - 1; i++) {
+            result.append(get(i)).append(", ");
+        }
+        result.append(get(size - 1)).append(" ]");
+
+        return result.toString();
+    }
+}
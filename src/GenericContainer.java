@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 /**
  * Реалізація контейнера, що дозволяє використовувати типізовані масиви.
  * Представляє собою допоміжний клас, для типізованих структур даних
@@ -24,4 +26,13 @@ public class GenericContainer<E> {
     public int size(){
         return arr.length;
     }
-}
\ No newline at end of file
+
+    /**
+     * Змінює розмір масиву, зберігаючи елементи, що в нього вміщуються
+     * @param s новий розмір масиву
+     */
+
+    public void resize(int s){
+        arr = Arrays.copyOf(arr, s);
+    }
+}
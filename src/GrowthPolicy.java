@@ -0,0 +1,101 @@
+/**
+ * Стратегія розширення масиву списку.
+ * Визначає нову місткість масиву, коли в ньому закінчується місце
+ */
+
+public interface GrowthPolicy {
+
+    /**
+     * Максимальна довжина масиву, яку гарантовано можна виділити
+     */
+
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Обчислює нову місткість масиву
+     * @param capacity поточна місткість масиву
+     * @param minCapacity мінімальна необхідна місткість, більша за {@code capacity}
+     * @return нова місткість, не менша за {@code minCapacity} і не більша за {@link #MAX_CAPACITY}
+     * @throws IllegalStateException якщо {@code minCapacity} перевищує {@link #MAX_CAPACITY}
+     */
+
+    int grow(int capacity, int minCapacity);
+
+    /**
+     * Повертає стратегію, що розширює масив вдвічі (до {@code 2 * n + 1} елементів)
+     * @return стратегія подвоєння
+     */
+
+    static GrowthPolicy doubling() {
+        return (capacity, minCapacity) -> {
+            long newCapacity = capacity;
+            while (newCapacity < minCapacity) {
+                newCapacity = 2 * newCapacity + 1;
+            }
+            return clamp(newCapacity, minCapacity);
+        };
+    }
+
+    /**
+     * Повертає стратегію, що розширює масив у задану кількість разів
+     * @param factor коефіцієнт розширення, наприклад {@code 1.5}
+     * @return стратегія розширення з коефіцієнтом
+     * @throws IllegalArgumentException якщо значення {@param factor} не більше за 1
+     */
+
+    static GrowthPolicy factor(double factor) {
+        if (!(factor > 1)) {
+            throw new IllegalArgumentException("Коефіцієнт розширення повинен бути більшим за 1");
+        }
+        return (capacity, minCapacity) -> clamp(Math.max((long) (capacity * factor) + 1, minCapacity), minCapacity);
+    }
+
+    /**
+     * Повертає стратегію, що збільшує масив на кратну заданому кроку кількість елементів
+     * @param increment крок розширення
+     * @return стратегія розширення на сталий крок
+     * @throws IllegalArgumentException якщо значення {@param increment} менше за 1
+     */
+
+    static GrowthPolicy fixedIncrement(int increment) {
+        if (increment < 1) {
+            throw new IllegalArgumentException("Крок розширення повинен бути додатнім");
+        }
+        return (capacity, minCapacity) -> {
+            long steps = ((long) minCapacity - capacity + increment - 1) / increment;
+            return clamp(capacity + steps * increment, minCapacity);
+        };
+    }
+
+    /**
+     * Повертає стратегію, що подвоює масив, доки приріст не перевищує {@code maxIncrement},
+     * а далі збільшує його на {@code maxIncrement} елементів
+     * @param maxIncrement максимальний приріст за одне розширення
+     * @return стратегія обмеженого подвоєння
+     * @throws IllegalArgumentException якщо значення {@param maxIncrement} менше за 1
+     */
+
+    static GrowthPolicy cappedDoubling(int maxIncrement) {
+        if (maxIncrement < 1) {
+            throw new IllegalArgumentException("Максимальний приріст повинен бути додатнім");
+        }
+        return (capacity, minCapacity) -> {
+            long newCapacity = capacity;
+            while (newCapacity < minCapacity && newCapacity < maxIncrement) {
+                newCapacity += Math.min(newCapacity + 1, maxIncrement);
+            }
+            if (newCapacity < minCapacity) {
+                newCapacity += (minCapacity - newCapacity + maxIncrement - 1) / maxIncrement * maxIncrement;
+            }
+            return clamp(newCapacity, minCapacity);
+        };
+    }
+
+    private static int clamp(long newCapacity, int minCapacity) {
+        if (minCapacity > MAX_CAPACITY || minCapacity < 0) {
+            throw new IllegalStateException("Список досяг максимальної місткості");
+        }
+
+        return (int) Math.min(newCapacity, MAX_CAPACITY);
+    }
+}
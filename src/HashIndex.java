@@ -0,0 +1,170 @@
+import java.util.Arrays;
+
+/**
+ * Хеш-індекс елементів списку з відкритою адресацією та лінійним пробуванням.
+ * Для кожного різного елемента зберігає кількість його входжень у список
+ * та найменшу позицію, на якій він знаходиться.
+ * <p>
+ * Кількість входжень оновлюється при кожній зміні списку, тому перевірка наявності
+ * завжди виконується за O(1). Зміни, що зсувають елементи списку, лише позначають позиції
+ * застарілими, і вони перераховуються одним проходом по списку під час наступного пошуку позиції
+ * @param <T> параметр типу елементів списку
+ */
+
+class HashIndex<T> {
+
+    private static final Object NULL_KEY = new Object();
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] keys;
+    private int[] counts;
+    private int[] positions;
+    private int entries;
+    private boolean stale;
+
+    HashIndex(int expected){
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, Math.min(expected, 1 << 29)) * 2 - 1) << 1;
+        keys = new Object[capacity];
+        counts = new int[capacity];
+        positions = new int[capacity];
+    }
+
+    /**
+     * Враховує елемент, доданий на позицію {@code position}
+     * @param shifted логічне {@code true}, якщо елементи після {@code position} зсунулись
+     */
+
+    void added(T element, int position, boolean shifted){
+        Object key = mask(element);
+        int slot = slotOf(key);
+        if(keys[slot] == null){
+            keys[slot] = key;
+            counts[slot] = 1;
+            positions[slot] = position;
+            if(++entries * 2 > keys.length){
+                resize(keys.length * 2);
+            }
+        }else{
+            counts[slot]++;
+            if(position < positions[slot]){
+                positions[slot] = position;
+            }
+        }
+        stale |= shifted;
+    }
+
+    /**
+     * Враховує видалення елемента з позиції {@code position}
+     * @param shifted логічне {@code true}, якщо елементи після {@code position} зсунулись
+     */
+
+    void removed(T element, int position, boolean shifted){
+        int slot = slotOf(mask(element));
+        if(--counts[slot] == 0){
+            delete(slot);
+            entries--;
+        }else if(positions[slot] == position){
+            stale = true;
+        }
+        stale |= shifted;
+    }
+
+    /**
+     * Позначає позиції застарілими після зміни порядку елементів
+     */
+
+    void reordered(){
+        stale = true;
+    }
+
+    boolean contains(T element){
+        return keys[slotOf(mask(element))] != null;
+    }
+
+    /**
+     * Повертає найменшу позицію елемента в списку, або -1 якщо елемента немає
+     */
+
+    int find(T element, T[] elementData, int size){
+        int slot = slotOf(mask(element));
+        if(keys[slot] == null){
+            return -1;
+        }
+        if(stale){
+            rebuildPositions(elementData, size);
+        }
+
+        return positions[slot];
+    }
+
+    private void rebuildPositions(T[] elementData, int size){
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < size; i++) {
+            int slot = slotOf(mask(elementData[i]));
+            if(positions[slot] < 0){
+                positions[slot] = i;
+            }
+        }
+        stale = false;
+    }
+
+    private int slotOf(Object key){
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while(keys[slot] != null && !keys[slot].equals(key)){
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Видаляє запис, переносячи на його місце наступні записи того ж ланцюжка,
+     * щоб пошук не зупинявся на порожній комірці
+     */
+
+    private void delete(int slot){
+        int mask = keys.length - 1;
+        int next = slot;
+        while(true){
+            next = (next + 1) & mask;
+            if(keys[next] == null) break;
+            int ideal = hash(keys[next]) & mask;
+            boolean movable = slot <= next ? (ideal <= slot || ideal > next) : (ideal <= slot && ideal > next);
+            if(movable){
+                keys[slot] = keys[next];
+                counts[slot] = counts[next];
+                positions[slot] = positions[next];
+                slot = next;
+            }
+        }
+        keys[slot] = null;
+    }
+
+    private void resize(int capacity){
+        Object[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int[] oldPositions = positions;
+        keys = new Object[capacity];
+        counts = new int[capacity];
+        positions = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != null){
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                positions[slot] = oldPositions[i];
+            }
+        }
+    }
+
+    private static Object mask(Object element){
+        return element == null ? NULL_KEY : element;
+    }
+
+    private static int hash(Object key){
+        int hash = key.hashCode() * 0x9E3779B9;
+
+        return hash ^ (hash >>> 16);
+    }
+}
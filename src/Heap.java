@@ -1,4 +1,9 @@
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Реалізація двійкової кучі
@@ -7,7 +12,7 @@ import java.util.NoSuchElementException;
  * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
  */
 
-public class Heap<K extends Comparable<K>, V> {
+public class Heap<K extends Comparable<K>, V> implements Iterable<V> {
 
     private static class Node<K, V> {
         K key;
@@ -19,19 +24,67 @@ public class Heap<K extends Comparable<K>, V> {
         }
     }
 
+    private static final int DEFAULT_CAPACITY = 16;
+
     private GenericContainer<Node<K, V>> heapArray;
-    private int maxSize;
+    private final int initialCapacity;
+    private final boolean shrink;
     private int currentSize;
 
+    /**
+     * Створює двійкову кучу з початковою місткістю в 16 елементів
+     */
+
+    public Heap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Створює двійкову кучу, що являє собою масив пар ключ-значення.
+     * Масив розширюється вдвічі, коли в ньому закінчується місце
+     * @param capacity початковий розмір масиву
+     */
+
+    public Heap(int capacity) {
+        this(capacity, false);
+    }
+
     /**
      * Створює двійкову кучу, що являє собою масив пар ключ-значення
-     * @param maxSize максимальний розмір масиву
+     * @param capacity початковий розмір масиву
+     * @param shrink логічне {@code true}, якщо масив повинен зменшуватись вдвічі,
+     * коли заповнений менше ніж на чверть (але не менше за початковий розмір);
+     * {@code false} - інакше
+     * @throws IllegalArgumentException якщо значення {@param capacity} менше за 1
      */
 
-    public Heap(int maxSize) {
-        this.maxSize = maxSize;
+    public Heap(int capacity, boolean shrink) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Розмір масиву повинен бути додатнім");
+        }
+        this.initialCapacity = capacity;
+        this.shrink = shrink;
         this.currentSize = 0;
-        heapArray = new GenericContainer<>(maxSize);
+        heapArray = new GenericContainer<>(capacity);
+    }
+
+    /**
+     * Створює двійкову кучу із заданих пар ключ-значення за час O(n)
+     * @param keys масив ключів
+     * @param values масив значень, {@code values[i]} відповідає ключу {@code keys[i]}
+     * @throws IllegalArgumentException якщо довжини масивів не збігаються
+     */
+
+    public Heap(K[] keys, V[] values) {
+        this(Math.max(keys.length, 1));
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Кількість ключів не відповідає кількості значень");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            heapArray.set(i, new Node<>(keys[i], values[i]));
+        }
+        currentSize = keys.length;
+        heapify();
     }
 
     /**
@@ -57,13 +110,12 @@ public class Heap<K extends Comparable<K>, V> {
      * Додає пару ключ-значення в двійкову кучу
      * @param key ключ, який додається
      * @param value значення, яке додається
-     * @return логічне {@code true}, якщо пара ключ-значення була додана,
-     * {@code false} - інкаше
+     * @return логічне {@code true}, оскільки масив розширюється при заповненні
      */
 
     public boolean add(K key, V value) {
-        if (currentSize == maxSize) {
-            return false;
+        if (currentSize == heapArray.size()) {
+            heapArray.resize(2 * heapArray.size());
         }
         Node<K, V> newNode = new Node<>(key, value);
         heapArray.set(currentSize, newNode);
@@ -72,15 +124,97 @@ public class Heap<K extends Comparable<K>, V> {
         return true;
     }
 
+    /**
+     * Додає пари ключ-значення з заданих масивів в двійкову кучу.
+     * Масив розширюється не більше одного разу. Якщо пакет великий відносно розміру кучі,
+     * елементи дописуються в кінець і куча перебудовується за час O(n),
+     * інакше кожен елемент піднімається на своє місце окремо
+     * @param keys масив ключів
+     * @param values масив значень, {@code values[i]} відповідає ключу {@code keys[i]}
+     * @throws IllegalArgumentException якщо довжини масивів не збігаються
+     */
+
+    public void addAll(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Кількість ключів не відповідає кількості значень");
+        }
+        int newSize = currentSize + keys.length;
+        if (newSize > heapArray.size()) {
+            heapArray.resize(Math.max(2 * heapArray.size(), newSize));
+        }
+        boolean rebuild = (long) keys.length * (32 - Integer.numberOfLeadingZeros(newSize)) > newSize;
+        for (int i = 0; i < keys.length; i++) {
+            heapArray.set(currentSize, new Node<>(keys[i], values[i]));
+            if (rebuild) {
+                currentSize++;
+            } else {
+                trickleUp(currentSize++);
+            }
+        }
+        if (rebuild) {
+            heapify();
+        }
+    }
+
     private void trickleUp(int index) {
+        int moves = 0;
         int parent = (index - 1) / 2;
         Node<K, V> bottom = heapArray.get(index);
         while (index > 0 && heapArray.get(parent).key.compareTo(bottom.key) < 0) {
             heapArray.set(index, heapArray.get(parent));
             index = parent;
+            moves++;
             parent = (parent - 1) / 2;
         }
         heapArray.set(index, bottom);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_UP_MOVES, moves);
+        }
+    }
+
+    /**
+     * Повертає найбільший ключ двійкової кучі
+     * @return найбільший ключ
+     * @throws NoSuchElementException якщо двійкова куча є пустою
+     */
+
+    public K peekKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Двійкова куча є пустою");
+        }
+        return heapArray.get(0).key;
+    }
+
+    /**
+     * Повертає значення, яке відповідає найбільшому ключу, не видаляючи його
+     * @return значення, яке відповідає найбільшому ключу, якщо двійкова куча не пуста;
+     * {@code null} якщо двійкова куча пуста
+     */
+
+    public V peek() {
+        return isEmpty() ? null : heapArray.get(0).value;
+    }
+
+    /**
+     * Замінює пару ключ-значення з найбільшим ключем на задану за один спуск по кучі,
+     * що дешевше за послідовні {@link #poll()} та {@link #add}
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     * @return значення, яке відповідало найбільшому ключу до заміни
+     * @throws NoSuchElementException якщо двійкова куча є пустою
+     */
+
+    public V replaceTop(K key, V value) {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Двійкова куча є пустою");
+        }
+        Node<K, V> root = heapArray.get(0);
+        V replaced = root.value;
+        root.key = key;
+        root.value = value;
+        trickleDown(0);
+
+        return replaced;
     }
 
     /**
@@ -110,12 +244,94 @@ public class Heap<K extends Comparable<K>, V> {
         }
         Node<K, V> root = heapArray.get(0);
         heapArray.set(0, heapArray.get(--currentSize));
-        trickleDown(0);
+        heapArray.set(currentSize, null);
+        if (currentSize > 0) {
+            trickleDown(0);
+        }
+        shrinkIfSparse();
 
         return root.value;
     }
 
+    /**
+     * Видаляє до {@code n} пар ключ-значення з найбільшими ключами і записує відповідні значення
+     * в заданий масив в порядку спадання ключів, починаючи з позиції 0.
+     * Замість порівняння останнього елемента на кожному рівні, місце кореня опускається
+     * до листа вздовж більших нащадків, і останній елемент піднімається з листа,
+     * що зменшує кількість порівнянь приблизно вдвічі. Масив зменшується не більше одного разу
+     * @param n максимальна кількість значень, які видаляються
+     * @param out масив, у який записуються значення
+     * @return кількість видалених значень, {@code min(n, size())}
+     * @throws IllegalArgumentException якщо значення {@param n} менше за 0
+     * @throws IndexOutOfBoundsException якщо довжина {@param out} менша за кількість видалених значень
+     */
+
+    public int pollN(int n, V[] out) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Кількість елементів не може бути від'ємною");
+        }
+        int count = Math.min(n, currentSize);
+        if (out.length < count) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] = heapArray.get(0).value;
+            Node<K, V> last = heapArray.get(--currentSize);
+            heapArray.set(currentSize, null);
+            if (currentSize > 0) {
+                int hole = sinkRoot();
+                heapArray.set(hole, last);
+                trickleUp(hole);
+            }
+        }
+        shrinkIfSparse();
+
+        return count;
+    }
+
+    /**
+     * Видаляє стільки пар ключ-значення з найбільшими ключами, скільки вміщує заданий масив,
+     * і записує відповідні значення в порядку спадання ключів
+     * @param out масив, у який записуються значення
+     * @return кількість видалених значень, {@code min(out.length, size())}
+     */
+
+    public int drainTo(V[] out) {
+        return pollN(out.length, out);
+    }
+
+    /**
+     * Повертає поточний розмір масиву, що являє собою двійкову кучу
+     * @return кількість пар ключ-значення, яку куча вміщує без розширення
+     */
+
+    public int capacity() {
+        return heapArray.size();
+    }
+
+    /**
+     * Зменшує масив до кількості елементів в двійковій кучі
+     */
+
+    public void trimToSize() {
+        heapArray.resize(Math.max(currentSize, 1));
+    }
+
+    private void shrinkIfSparse() {
+        int capacity = heapArray.size();
+        if (shrink && capacity > initialCapacity && currentSize < capacity / 4) {
+            heapArray.resize(Math.max(capacity / 2, initialCapacity));
+        }
+    }
+
+    private void heapify() {
+        for (int i = currentSize / 2 - 1; i >= 0; i--) {
+            trickleDown(i);
+        }
+    }
+
     private void trickleDown(int index) {
+        int moves = 0;
         int largerChild;
         Node<K, V> top = heapArray.get(index);
 
@@ -132,10 +348,38 @@ public class Heap<K extends Comparable<K>, V> {
 
             if (top.key.compareTo(heapArray.get(largerChild).key) >= 0) break;
 
-            heapArray.set(index, heapArray.get(leftChild));
+            heapArray.set(index, heapArray.get(largerChild));
             index = largerChild;
+            moves++;
         }
         heapArray.set(index, top);
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_DOWN_MOVES, moves);
+        }
+    }
+
+    /**
+     * Переміщує на місце кореня більших нащадків аж до листа, не порівнюючи їх з елементом,
+     * що вставляється, і повертає позицію листа, що звільнилась
+     */
+
+    private int sinkRoot() {
+        int moves = 0;
+        int hole = 0;
+        int leftChild;
+        while ((leftChild = 2 * hole + 1) < currentSize) {
+            int rightChild = leftChild + 1;
+            int largerChild = rightChild < currentSize &&
+                    heapArray.get(leftChild).key.compareTo(heapArray.get(rightChild).key) < 0 ? rightChild : leftChild;
+            heapArray.set(hole, heapArray.get(largerChild));
+            hole = largerChild;
+            moves++;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_DOWN_MOVES, moves);
+        }
+
+        return hole;
     }
 
     /**
@@ -159,10 +403,55 @@ public class Heap<K extends Comparable<K>, V> {
         return true;
     }
 
+    /**
+     * Повертає ітератор по значеннях двійкової кучі в порядку їх розташування в масиві.
+     * Порядок обходу не відповідає порядку ключів
+     * @return ітератор по значеннях двійкової кучі
+     */
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < currentSize;
+            }
+
+            @Override
+            public V next() {
+                if (cursor >= currentSize) {
+                    throw new NoSuchElementException();
+                }
+                return heapArray.get(cursor++).value;
+            }
+        };
+    }
+
+    /**
+     * Повертає сплітератор по значеннях двійкової кучі в порядку їх розташування в масиві
+     * @return сплітератор з характеристикою SIZED
+     */
+
+    @Override
+    public Spliterator<V> spliterator() {
+        return Spliterators.spliterator(iterator(), currentSize, 0);
+    }
+
+    /**
+     * Повертає послідовний потік значень двійкової кучі
+     * @return потік значень двійкової кучі
+     */
+
+    public Stream<V> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
     @Override
     public String toString(){
         String result = "";
-        for(int i = 0; i < heapArray.size(); i++){
+        for(int i = 0; i < currentSize; i++){
             result += "Node #" + i + ": Key = " + heapArray.get(i).key + "; Value = " + heapArray.get(i).value + "\n";
         }
 
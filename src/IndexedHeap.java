@@ -0,0 +1,272 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Реалізація індексованої двійкової кучі.
+ * При додаванні кожна пара ключ-значення отримує дескриптор, який не змінюється,
+ * доки пара знаходиться в кучі. За дескриптором можна змінити ключ чи видалити пару за час O(log n)
+ * @param <K> параметр типу ключа, за яким знаходяться відповідні значення в двійковій кучі.
+ * Параметр типу ключа повинен реалізувати інтерфейс Comparable, для реалізації основних методів
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+public class IndexedHeap<K extends Comparable<K>, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private GenericContainer<K> keys;
+    private GenericContainer<V> values;
+    private int[] heap;
+    private int[] positions;
+    private int[] freeHandles;
+    private int freeCount;
+    private int nextHandle;
+    private int currentSize;
+
+    /**
+     * Створює індексовану двійкову кучу з початковою місткістю в 16 елементів
+     */
+
+    public IndexedHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Створює індексовану двійкову кучу
+     * @param capacity початковий розмір масивів
+     * @throws IllegalArgumentException якщо значення {@param capacity} менше за 1
+     */
+
+    public IndexedHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Розмір масиву повинен бути додатнім");
+        }
+        keys = new GenericContainer<>(capacity);
+        values = new GenericContainer<>(capacity);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        freeHandles = new int[capacity];
+    }
+
+    /**
+     * Перевіряє чи двійкова куча містить елементи
+     * @return логічне {@code true}, якщо дана двійкова куча пуста,
+     * {@code false} - інакше
+     */
+
+    public boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Повертає розмір двійкової кучі
+     * @return розмір двійкової кучі
+     */
+
+    public int size() {
+        return currentSize;
+    }
+
+    /**
+     * Додає пару ключ-значення в двійкову кучу
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     * @return дескриптор доданої пари
+     */
+
+    public int add(K key, V value) {
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (nextHandle == positions.length) {
+                grow();
+            }
+            handle = nextHandle++;
+        }
+        keys.set(handle, key);
+        values.set(handle, value);
+        heap[currentSize] = handle;
+        positions[handle] = currentSize;
+        trickleUp(currentSize++);
+
+        return handle;
+    }
+
+    /**
+     * Перевіряє чи дескриптор відповідає парі, що знаходиться в двійковій кучі
+     * @param handle дескриптор пари
+     * @return логічне {@code true}, якщо пара знаходиться в кучі, {@code false} - інакше
+     */
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < nextHandle && positions[handle] >= 0;
+    }
+
+    /**
+     * Повертає ключ пари за дескриптором
+     * @param handle дескриптор пари
+     * @return ключ пари
+     * @throws NoSuchElementException якщо пари з таким дескриптором немає в кучі
+     */
+
+    public K getKey(int handle) {
+        checkHandle(handle);
+        return keys.get(handle);
+    }
+
+    /**
+     * Повертає значення пари за дескриптором
+     * @param handle дескриптор пари
+     * @return значення пари
+     * @throws NoSuchElementException якщо пари з таким дескриптором немає в кучі
+     */
+
+    public V get(int handle) {
+        checkHandle(handle);
+        return values.get(handle);
+    }
+
+    /**
+     * Повертає дескриптор пари з найбільшим ключем, не видаляючи її
+     * @return дескриптор пари з найбільшим ключем
+     * @throws NoSuchElementException якщо двійкова куча є пустою
+     */
+
+    public int peekHandle() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Двійкова куча є пустою");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Видаляє пару ключ-значення з двійкової кучі і повертає відповідне значення
+     * @return значення, яке відповідає найбільшому ключу
+     * @throws NoSuchElementException якщо двійкова куча є пустою
+     */
+
+    public V remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Неможливо видалити елемент, так як двійкова куча є пустою");
+        }
+        return remove(heap[0]);
+    }
+
+    /**
+     * Видаляє пару ключ-значення з двійкової кучі і повертає відповідне значення
+     * @return значення, яке відповідає найбільшому ключу, якщо двійкова куча не пуста;
+     * {@code null} якщо двійкова куча пуста
+     */
+
+    public V poll() {
+        if (isEmpty()) {
+            return null;
+        }
+        return remove(heap[0]);
+    }
+
+    /**
+     * Видаляє пару ключ-значення за дескриптором
+     * @param handle дескриптор пари
+     * @return значення видаленої пари
+     * @throws NoSuchElementException якщо пари з таким дескриптором немає в кучі
+     */
+
+    public V remove(int handle) {
+        checkHandle(handle);
+        int index = positions[handle];
+        V removed = values.get(handle);
+        int last = heap[--currentSize];
+        if (index != currentSize) {
+            heap[index] = last;
+            positions[last] = index;
+            trickleUp(index);
+            trickleDown(positions[last]);
+        }
+        positions[handle] = -1;
+        keys.set(handle, null);
+        values.set(handle, null);
+        freeHandles[freeCount++] = handle;
+
+        return removed;
+    }
+
+    /**
+     * Змінює значення ключа для пари з заданим дескриптором
+     * @param handle дескриптор пари
+     * @param newKey нове значення ключа
+     * @throws NoSuchElementException якщо пари з таким дескриптором немає в кучі
+     */
+
+    public void changeKey(int handle, K newKey) {
+        checkHandle(handle);
+        K oldKey = keys.get(handle);
+        keys.set(handle, newKey);
+        if (oldKey.compareTo(newKey) < 0) {
+            trickleUp(positions[handle]);
+        } else {
+            trickleDown(positions[handle]);
+        }
+    }
+
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("Пари з дескриптором " + handle + " немає в двійковій кучі");
+        }
+    }
+
+    private void trickleUp(int index) {
+        int moves = 0;
+        int bottom = heap[index];
+        K bottomKey = keys.get(bottom);
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (keys.get(heap[parent]).compareTo(bottomKey) >= 0) break;
+            heap[index] = heap[parent];
+            positions[heap[index]] = index;
+            index = parent;
+            moves++;
+        }
+        heap[index] = bottom;
+        positions[bottom] = index;
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_UP_MOVES, moves);
+        }
+    }
+
+    private void trickleDown(int index) {
+        int moves = 0;
+        int top = heap[index];
+        K topKey = keys.get(top);
+        while (index < currentSize / 2) {
+            int largerChild = 2 * index + 1;
+            int rightChild = largerChild + 1;
+            if (rightChild < currentSize &&
+                    keys.get(heap[largerChild]).compareTo(keys.get(heap[rightChild])) < 0) {
+                largerChild = rightChild;
+            }
+
+            if (topKey.compareTo(keys.get(heap[largerChild])) >= 0) break;
+
+            heap[index] = heap[largerChild];
+            positions[heap[index]] = index;
+            index = largerChild;
+            moves++;
+        }
+        heap[index] = top;
+        positions[top] = index;
+        if (Metrics.ENABLED) {
+            Metrics.add(Metrics.Counter.HEAP_SIFT_DOWN_MOVES, moves);
+        }
+    }
+
+    private void grow() {
+        int newCapacity = 2 * positions.length;
+        keys.resize(newCapacity);
+        values.resize(newCapacity);
+        heap = Arrays.copyOf(heap, newCapacity);
+        positions = Arrays.copyOf(positions, newCapacity);
+        freeHandles = Arrays.copyOf(freeHandles, newCapacity);
+    }
+}
@@ -0,0 +1,283 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Реалізація списку значень типу {@code int}.
+ * Елементи зберігаються в масиві {@code int[]} без упаковки
+ */
+
+public class IntArrayList {
+
+    private int size = 0;
+    private int[] elementData;
+
+    /**
+     * Створює список з місткістю в 10 елементів
+     */
+
+    public IntArrayList(){
+        this(10);
+    }
+
+    /**
+     * Створює список з заданою місткістю
+     * @param capacity місткість створюваного списку
+     */
+
+    public IntArrayList(int capacity){
+        elementData = new int[capacity];
+    }
+
+    /**
+     * Створює список на основі заданого масиву
+     * @param data масив, на основі якого створюється список
+     */
+
+    public IntArrayList(int[] data){
+        size = data.length;
+        elementData = data;
+    }
+
+    /**
+     * Створює список на основі заданого списку
+     * @param list список, на основі якого створюється новий список
+     */
+
+    public IntArrayList(IntArrayList list){
+        this(list.toArray());
+    }
+
+    /**
+     * Повертає кількість елементів в списку
+     * @return кількість елементів в списку
+     */
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Перевіряє чи список містить елементи
+     * @return логічне {@code true}, якщо даний список пустий, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Змінює місткість списку, якщо нинішня місткість менша за {@code capacity}.
+     * Масив розширюється вдвічі, але не більше ніж до {@link GrowthPolicy#MAX_CAPACITY}
+     * @param capacity нова місткість списку
+     * @throws IllegalArgumentException якщо {@code capacity} перевищує {@link GrowthPolicy#MAX_CAPACITY}
+     */
+
+    public void ensureCapacity(int capacity){
+        if(capacity > GrowthPolicy.MAX_CAPACITY){
+            throw new IllegalArgumentException("Місткість " + capacity + " перевищує максимальну довжину масиву");
+        }
+        if(capacity > elementData.length) {
+            int newSize = GrowthPolicy.doubling().grow(elementData.length, capacity);
+
+            elementData = Arrays.copyOf(elementData, newSize);
+            if (Metrics.ENABLED) {
+                Metrics.add(Metrics.Counter.LIST_REALLOCATIONS, 1);
+                Metrics.add(Metrics.Counter.LIST_BYTES_COPIED, (long) size * Integer.BYTES);
+            }
+        }
+    }
+
+    /**
+     * Обрізає список до заданого розміру
+     * @param size розмір, до якого необхідно обрізати список
+     * @throws IndexOutOfBoundsException якщо значення {@param size}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void trimToSize(int size){
+        if(size >= this.size || size < 0){
+            throw new IndexOutOfBoundsException();
+        }
+        elementData = Arrays.copyOf(elementData, size);
+        this.size = size;
+    }
+
+    /**
+     * Додає заданий елемент в список на задану позицію
+     * @param element елемент, який додається
+     * @param index позиція в списку, на яку додається елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void add(int element, int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = element;
+        size++;
+    }
+
+    /**
+     * Додає всі елементи заданого списку в список
+     * на задану позицію
+     * @param list список, елементи якого додаються
+     * @param index позиція в списку, на яку додається елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void addAll(IntArrayList list, int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(size + list.size);
+        System.arraycopy(elementData, index, elementData, index + list.size, size - index);
+        System.arraycopy(list.elementData, 0, elementData, index, list.size);
+        size+= list.size;
+    }
+
+    /**
+     * Додає заданий елемент в кінець списку
+     * @param element елемент, який додається
+     */
+
+    public void add(int element){
+        ensureCapacity(size + 1);
+        elementData[size++] = element;
+    }
+
+    /**
+     * Повертає елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @return елемент на позиції {@param index}
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public int get(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+
+        return elementData[index];
+    }
+
+    /**
+     * Перевіряє чи список список містить заданий елемент
+     * @param element елемент, наявність якого потрібно знайти
+     * @return логічне {@code true} якщо елемент наявний списку,
+     * {@code false} - інакше
+     */
+
+    public boolean contains(int element){
+        for (int i = 0; i < size; i++) {
+            if(elementData[i] == element){
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Знаходить позицію елемента в списку
+     * @param element елемент, позицію в списку якого потрібно знайти
+     * @return позицію в списку, на якій знаходиться {@param element}
+     * @throws NoSuchElementException якщо елемент не знайдено
+     */
+
+    public int find(int element){
+        for (int i = 0; i < size; i++) {
+            if(elementData[i] == element){
+                return i;
+            }
+        }
+
+        throw new NoSuchElementException("Даний елемент не знайдено");
+    }
+
+    /**
+     * Видаляє елемент на відповідній позиції зі списку
+     * @param index позиція, на якій видаляється елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void remove(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+
+        System.arraycopy(elementData, index + 1, elementData, index, size - (index + 1));
+        size--;
+    }
+
+    /**
+     * Видаляє всі елементи зі списку в заданому діапазоні
+     * @param start індекс початку діапазону(включно)
+     * @param end індекс кінця діапазону(виключно)
+     * @throws IllegalArgumentException якщо значення {@param start}
+     * не менше за значення {@param end}
+     * @throws IndexOutOfBoundsException якщо значення {@param end}
+     * більше за розмір списку, або значення {@param start}
+     * менше за 0
+     */
+
+    public void removeRange(int start, int end){
+        if(end <= start){
+            throw new IllegalArgumentException();
+        }
+        if(end > size || start < 0){
+            throw new IndexOutOfBoundsException();
+        }
+
+        System.arraycopy(elementData, end, elementData, start, size - end);
+        size-= end - start;
+    }
+
+    /**
+     * Повертає частину списку в заданому діапазоні
+     * @param start індекс початку діапазону(включно)
+     * @param end індекс кінця діапазону(виключно)
+     * @throws IllegalArgumentException якщо значення {@param start}
+     * не менше за значення {@param end}
+     * @throws IndexOutOfBoundsException якщо значення {@param end}
+     * більше за розмір списку, або значення {@param start}
+     * менше за 0
+     */
+
+    public IntArrayList getSubList(int start, int end){
+        if(end <= start){
+            throw new IllegalArgumentException();
+        }
+        if(end > size || start < 0){
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new IntArrayList(Arrays.copyOfRange(elementData, start, end));
+    }
+
+    /**
+     * Повертає масив елементів списку
+     * @return новий масив розміром {@link #size()}, що містить елементи списку
+     */
+
+    public int[] toArray(){
+        return Arrays.copyOf(elementData, size);
+    }
+
+    @Override
+    public String toString() {
+        if(size == 0) return "[ ]";
+        StringBuilder result = new StringBuilder("[ ");
+        for (int i = 0; i < size - 1; i++) {
+            result.append(elementData[i]).append(", ");
+        }
+        result.append(elementData[size - 1]).append(" ]");
+
+        return result.toString();
+    }
+}
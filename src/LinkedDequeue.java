@@ -1,11 +1,16 @@
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Реалізація двобічної черги
  * @param <T> параметр типу елементів черги
  */
 
-public class LinkedDequeue<T> {
+public class LinkedDequeue<T> implements Iterable<T> {
 
     private Node<T> tail, head;
     private int size;
@@ -46,6 +51,9 @@ public class LinkedDequeue<T> {
      */
 
     public void offerFirst(T item){
+        if(Metrics.ENABLED){
+            Metrics.add(Metrics.Counter.DEQUE_NODE_ALLOCATIONS, 1);
+        }
         if(isEmpty()){
             head = new Node<>(null, item, null);
             tail = head;
@@ -65,13 +73,16 @@ public class LinkedDequeue<T> {
      */
 
     public void offerLast(T item){
+        if(Metrics.ENABLED){
+            Metrics.add(Metrics.Counter.DEQUE_NODE_ALLOCATIONS, 1);
+        }
         if(isEmpty()){
             tail = new Node<>(null, item, null);
             head = tail;
             tail.next = head;
             head.prev = tail;
         }else{
-            tail = new Node<>(null, item, head);
+            tail = new Node<>(null, item, tail);
             tail.next.prev = tail;
         }
 
@@ -173,4 +184,53 @@ public class LinkedDequeue<T> {
 
         return tail.item;
     }
+
+    /**
+     * Повертає ітератор по елементах черги від голови до хвоста
+     * @return ітератор по елементах черги
+     */
+
+    @Override
+    public Iterator<T> iterator(){
+        return new Iterator<T>() {
+            private Node<T> current = head;
+            private int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if(remaining == 0){
+                    throw new NoSuchElementException();
+                }
+                T item = current.item;
+                current = current.prev;
+                remaining--;
+
+                return item;
+            }
+        };
+    }
+
+    /**
+     * Повертає сплітератор по елементах черги від голови до хвоста
+     * @return сплітератор з характеристиками ORDERED та SIZED
+     */
+
+    @Override
+    public Spliterator<T> spliterator(){
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Повертає послідовний потік елементів черги від голови до хвоста
+     * @return потік елементів черги
+     */
+
+    public Stream<T> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
 }
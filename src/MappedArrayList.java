@@ -0,0 +1,240 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Реалізація списку, елементи якого зберігаються у файлі, відображеному в пам'ять.
+ * Файл починається із заголовка, що містить довжину запису та кількість збережених елементів,
+ * після якого йдуть записи фіксованої довжини.
+ * <p>
+ * Кількість елементів у заголовку оновлюється лише методом {@link #force()}, який спочатку
+ * скидає на диск записи, а потім заголовок. Тому після збою список відкривається
+ * в стані останньої контрольної точки: елементи, додані після неї, відкидаються.
+ * Зміни вже збережених елементів ({@link #set}, {@link #removeRange}) такого захисту не мають
+ * @param <T> параметр типу елементів списку
+ */
+
+public class MappedArrayList<T> implements AutoCloseable {
+
+    private static final int MAGIC = 0x4D41524C;
+    private static final int WIDTH_OFFSET = 4;
+    private static final int SIZE_OFFSET = 8;
+    private static final int HEADER_BYTES = 16;
+    private static final int MIN_CAPACITY = 10;
+
+    private final FileChannel channel;
+    private final RecordCodec<T> codec;
+    private final int width;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int size;
+
+    /**
+     * Відкриває список, збережений у файлі, або створює новий файл, якщо його не існує
+     * @param path шлях до файлу
+     * @param codec кодек елементів списку
+     * @throws IOException якщо файл неможливо відкрити, або він не є коректним файлом списку
+     * з записами довжиною {@code codec.width()}
+     */
+
+    public MappedArrayList(Path path, RecordCodec<T> codec) throws IOException {
+        this.codec = codec;
+        this.width = codec.width();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long length = channel.size();
+            if (length == 0) {
+                map(MIN_CAPACITY);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(WIDTH_OFFSET, width);
+                buffer.putLong(SIZE_OFFSET, 0);
+                buffer.force();
+            } else {
+                if (length < HEADER_BYTES) {
+                    throw new IOException("Файл " + path + " пошкоджено: неповний заголовок");
+                }
+                map((int) Math.min((length - HEADER_BYTES) / width, maxCapacity()));
+                if (buffer.getInt(0) != MAGIC) {
+                    throw new IOException("Файл " + path + " не є файлом списку");
+                }
+                if (buffer.getInt(WIDTH_OFFSET) != width) {
+                    throw new IOException("Довжина запису у файлі " + path + " не відповідає кодеку");
+                }
+                long committed = buffer.getLong(SIZE_OFFSET);
+                if (committed < 0 || committed > capacity) {
+                    throw new IOException("Файл " + path + " пошкоджено: неприпустима кількість елементів");
+                }
+                size = (int) committed;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Повертає кількість елементів в списку
+     * @return кількість елементів в списку
+     */
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Перевіряє чи список містить елементи
+     * @return логічне {@code true}, якщо даний список пустий, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Повертає кількість елементів, яку вміщує відображена частина файлу
+     * @return місткість списку
+     */
+
+    public int capacity(){
+        return capacity;
+    }
+
+    /**
+     * Розширює файл та відображає його в пам'ять заново, якщо нинішня місткість менша за {@code capacity}
+     * @param capacity нова місткість списку
+     * @throws IllegalArgumentException якщо файл такої місткості неможливо відобразити в пам'ять
+     * @throws UncheckedIOException якщо файл неможливо розширити
+     */
+
+    public void ensureCapacity(int capacity){
+        if(capacity > this.capacity) {
+            if(capacity > maxCapacity()){
+                throw new IllegalArgumentException("Місткість перевищує розмір відображення в пам'ять");
+            }
+            long newSize = this.capacity;
+            while (capacity > newSize) {
+                newSize = 2 * newSize + 1;
+            }
+
+            try {
+                map((int) Math.min(newSize, maxCapacity()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Додає заданий елемент в кінець списку. Елемент стає збереженим
+     * після наступного виклику {@link #force()}
+     * @param element елемент, який додається
+     */
+
+    public void add(T element){
+        ensureCapacity(size + 1);
+        codec.write(buffer, HEADER_BYTES + size * width, element);
+        size++;
+    }
+
+    /**
+     * Повертає елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @return елемент на позиції {@param index}
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public T get(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+
+        return codec.read(buffer, HEADER_BYTES + index * width);
+    }
+
+    /**
+     * Замінює елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @param element новий елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void set(int index, T element){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        codec.write(buffer, HEADER_BYTES + index * width, element);
+    }
+
+    /**
+     * Видаляє всі елементи зі списку в заданому діапазоні
+     * @param start індекс початку діапазону(включно)
+     * @param end індекс кінця діапазону(виключно)
+     * @throws IllegalArgumentException якщо значення {@param start}
+     * не менше за значення {@param end}
+     * @throws IndexOutOfBoundsException якщо значення {@param end}
+     * більше за розмір списку, або значення {@param start}
+     * менше за 0
+     */
+
+    public void removeRange(int start, int end){
+        if(end <= start){
+            throw new IllegalArgumentException();
+        }
+        if(end > size || start < 0){
+            throw new IndexOutOfBoundsException();
+        }
+
+        buffer.put(HEADER_BYTES + start * width, buffer, HEADER_BYTES + end * width, (size - end) * width);
+        size-= end - start;
+    }
+
+    /**
+     * Зберігає на диск усі елементи списку, після чого записує їх кількість у заголовок
+     */
+
+    public void force(){
+        buffer.force(HEADER_BYTES, size * width);
+        buffer.putLong(SIZE_OFFSET, size);
+        buffer.force(0, HEADER_BYTES);
+    }
+
+    /**
+     * Зберігає список на диск та закриває файл
+     * @throws IOException якщо файл неможливо закрити
+     */
+
+    @Override
+    public void close() throws IOException {
+        if(channel.isOpen()){
+            force();
+            channel.close();
+        }
+    }
+
+    private int maxCapacity(){
+        return (Integer.MAX_VALUE - HEADER_BYTES) / width;
+    }
+
+    private void map(int capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * width);
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String toString() {
+        if(size == 0) return "[ ]";
+        StringBuilder result = new StringBuilder("[ ");
+        for (int i = 0; i < size - 1; i++) {
+            result.append(get(i)).append(", ");
+        }
+        result.append(get(size - 1)).append(" ]");
+
+        return result.toString();
+    }
+}
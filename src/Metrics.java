@@ -0,0 +1,169 @@
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Лічильники внутрішніх операцій структур даних: розширень масивів списків,
+ * глибини пошуку в бінарному дереві, переміщень елементів у кучах та створення вузлів черги.
+ * <p>
+ * Збір увімкнено лише якщо JVM запущено з властивістю {@code -Ddatastructures.metrics=true}.
+ * Інакше {@link #ENABLED} є константою {@code false}, і JIT повністю видаляє код підрахунку.
+ * Значення можна отримати методом {@link #snapshot()}, або через JMX після виклику {@link #registerMBean()}
+ */
+
+public final class Metrics {
+
+    /**
+     * Логічне {@code true}, якщо збір лічильників увімкнено
+     */
+
+    public static final boolean ENABLED = Boolean.getBoolean("datastructures.metrics");
+
+    /**
+     * Ім'я, під яким лічильники реєструються на платформному MBean-сервері
+     */
+
+    public static final String OBJECT_NAME = "datastructures:type=Metrics";
+
+    /**
+     * Лічильники, що збираються
+     */
+
+    public enum Counter {
+        /** Кількість розширень масиву списків у методі {@code ensureCapacity} */
+        LIST_REALLOCATIONS,
+        /** Кількість байтів, скопійованих під час розширень масиву списків */
+        LIST_BYTES_COPIED,
+        /** Кількість пошуків вузла за ключем у бінарному дереві */
+        TREE_SEARCHES,
+        /** Сумарна кількість вузлів, пройдених під час пошуків у бінарному дереві */
+        TREE_SEARCH_DEPTH,
+        /** Кількість переміщень елементів вгору під час просіювання в кучах */
+        HEAP_SIFT_UP_MOVES,
+        /** Кількість переміщень елементів вниз під час просіювання в кучах */
+        HEAP_SIFT_DOWN_MOVES,
+        /** Кількість вузлів, створених двобічною чергою */
+        DEQUE_NODE_ALLOCATIONS
+    }
+
+    /**
+     * Інтерфейс керування лічильниками через JMX
+     */
+
+    public interface CountersMXBean {
+        /**
+         * Повертає поточні значення лічильників
+         * @return відображення назви лічильника на його значення
+         */
+        Map<String, Long> getCounters();
+
+        /**
+         * Обнуляє всі лічильники
+         */
+        void reset();
+    }
+
+    static final int REFERENCE_BYTES = ENABLED ? referenceBytes() : 0;
+
+    private static final LongAdder[] COUNTERS = new LongAdder[Counter.values().length];
+
+    static {
+        for (int i = 0; i < COUNTERS.length; i++) {
+            COUNTERS[i] = new LongAdder();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Збільшує лічильник на задане значення. Виклики слід огортати перевіркою {@link #ENABLED}
+     * @param counter лічильник
+     * @param amount значення, на яке збільшується лічильник
+     */
+
+    static void add(Counter counter, long amount) {
+        COUNTERS[counter.ordinal()].add(amount);
+    }
+
+    /**
+     * Повертає поточне значення лічильника
+     * @param counter лічильник
+     * @return значення лічильника
+     */
+
+    public static long get(Counter counter) {
+        return COUNTERS[counter.ordinal()].sum();
+    }
+
+    /**
+     * Повертає знімок усіх лічильників. За наявності конкурентних змін
+     * значення різних лічильників можуть відповідати різним моментам часу
+     * @return відображення лічильника на його значення
+     */
+
+    public static Map<Counter, Long> snapshot() {
+        Map<Counter, Long> snapshot = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            snapshot.put(counter, get(counter));
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Обнуляє всі лічильники
+     */
+
+    public static void reset() {
+        for (LongAdder counter : COUNTERS) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * Реєструє лічильники на платформному MBean-сервері під ім'ям {@link #OBJECT_NAME}.
+     * Повторний виклик не має ефекту
+     * @throws IllegalStateException якщо реєстрація не вдалася
+     */
+
+    public static synchronized void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new CountersMXBean() {
+                    @Override
+                    public Map<String, Long> getCounters() {
+                        Map<String, Long> counters = new LinkedHashMap<>();
+                        snapshot().forEach((counter, value) -> counters.put(counter.name(), value));
+                        return counters;
+                    }
+
+                    @Override
+                    public void reset() {
+                        Metrics.reset();
+                    }
+                }, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Не вдалося зареєструвати лічильники", e);
+        }
+    }
+
+    private static int referenceBytes() {
+        try {
+            HotSpotDiagnosticMXBean diagnostic = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(diagnostic.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+        } catch (RuntimeException e) {
+            return 8;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Реалізація списку, елементи якого зберігаються поза купою.
+ * Елементи кодуються записами фіксованої довжини в прямих буферах ({@link ByteBuffer#allocateDirect}),
+ * розбитих на блоки однакового розміру. Розширення списку додає нові блоки
+ * без копіювання вже записаних елементів.
+ * <p>
+ * Виклик {@link #close()} робить список та всі його частини недоступними і одразу звільняє
+ * пам'ять блоків через очищувач прямих буферів ({@code sun.misc.Unsafe#invokeCleaner}),
+ * не чекаючи збирача сміття. Якщо середовище виконання не надає цього методу,
+ * {@code close()} лише відпускає посилання на блоки, а пам'ять повертається після їх збирання.
+ * Оскільки після закриття пам'ять блоків більше не належить процесу, всі операції
+ * закритого списку кидають {@link IllegalStateException}
+ * @param <T> параметр типу елементів списку
+ */
+
+public class OffHeapArrayList<T> implements AutoCloseable {
+
+    private static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final RecordCodec<T> codec;
+    private final int width;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final OffHeapArrayList<T> owner;
+    private final long offset;
+
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Створює список з блоками розміром близько 1 МіБ
+     * @param codec кодек елементів списку
+     * @throws IllegalArgumentException якщо довжина запису кодека менша за 1
+     */
+
+    public OffHeapArrayList(RecordCodec<T> codec){
+        this(codec, DEFAULT_CHUNK_BYTES / checkWidth(codec));
+    }
+
+    /**
+     * Створює список з заданим розміром блоку
+     * @param codec кодек елементів списку
+     * @param recordsPerChunk мінімальна кількість записів в одному блоці,
+     * округлюється до найближчого степеня двійки
+     * @throws IllegalArgumentException якщо блок не вміщує жодного запису
+     * чи перевищує 2 ГіБ
+     */
+
+    public OffHeapArrayList(RecordCodec<T> codec, int recordsPerChunk){
+        int records = Integer.highestOneBit(Math.max(recordsPerChunk, 1));
+        if(records < recordsPerChunk){
+            records <<= 1;
+        }
+        if((long) records * checkWidth(codec) > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Неприпустимий розмір блоку");
+        }
+        this.codec = codec;
+        this.width = codec.width();
+        this.chunkShift = Integer.numberOfTrailingZeros(records);
+        this.chunkMask = records - 1;
+        this.owner = this;
+        this.offset = 0;
+        this.chunks = new ByteBuffer[4];
+    }
+
+    private OffHeapArrayList(OffHeapArrayList<T> owner, long offset, int size){
+        this.codec = owner.codec;
+        this.width = owner.width;
+        this.chunkShift = owner.chunkShift;
+        this.chunkMask = owner.chunkMask;
+        this.owner = owner;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Повертає кількість елементів в списку
+     * @return кількість елементів в списку
+     */
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Перевіряє чи список містить елементи
+     * @return логічне {@code true}, якщо даний список пустий, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Повертає кількість елементів, яку список вміщує без виділення нових блоків
+     * @return місткість списку
+     */
+
+    public long capacity(){
+        return (long) owner.chunkCount << chunkShift;
+    }
+
+    /**
+     * Виділяє блоки, якщо нинішня місткість менша за {@code capacity}
+     * @param capacity нова місткість списку
+     * @throws UnsupportedOperationException якщо список є частиною іншого списку
+     * @throws IllegalStateException якщо список закрито
+     */
+
+    public void ensureCapacity(int capacity){
+        checkOwner();
+        while(capacity() < capacity){
+            if(chunkCount == chunks.length){
+                chunks = Arrays.copyOf(chunks, 2 * chunks.length);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect((chunkMask + 1) * width).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Додає заданий елемент в кінець списку
+     * @param element елемент, який додається
+     * @throws UnsupportedOperationException якщо список є частиною іншого списку
+     * @throws IllegalStateException якщо список закрито
+     */
+
+    public void add(T element){
+        ensureCapacity(size + 1);
+        write(size++, element);
+    }
+
+    /**
+     * Повертає елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @return елемент на позиції {@param index}
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     * @throws IllegalStateException якщо список закрито
+     */
+
+    public T get(int index){
+        checkOpen();
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        long position = offset + index;
+
+        return codec.read(owner.chunks[(int) (position >>> chunkShift)], ((int) position & chunkMask) * width);
+    }
+
+    /**
+     * Замінює елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @param element новий елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     * @throws IllegalStateException якщо список закрито
+     */
+
+    public void set(int index, T element){
+        checkOpen();
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        write(index, element);
+    }
+
+    /**
+     * Видаляє всі елементи зі списку в заданому діапазоні.
+     * Наступні записи переносяться неперервними ділянками, що не перетинають меж блоків,
+     * одним масовим копіюванням на ділянку
+     * @param start індекс початку діапазону(включно)
+     * @param end індекс кінця діапазону(виключно)
+     * @throws IllegalArgumentException якщо значення {@param start}
+     * не менше за значення {@param end}
+     * @throws IndexOutOfBoundsException якщо значення {@param end}
+     * більше за розмір списку, або значення {@param start}
+     * менше за 0
+     * @throws UnsupportedOperationException якщо список є частиною іншого списку
+     * @throws IllegalStateException якщо список закрито
+     */
+
+    public void removeRange(int start, int end){
+        checkOwner();
+        if(end <= start){
+            throw new IllegalArgumentException();
+        }
+        if(end > size || start < 0){
+            throw new IndexOutOfBoundsException();
+        }
+
+        int from = end;
+        int to = start;
+        while(from < size){
+            int run = Math.min(size - from, chunkMask + 1 - Math.max(from & chunkMask, to & chunkMask));
+            chunks[to >>> chunkShift].put((to & chunkMask) * width, chunks[from >>> chunkShift], (from & chunkMask) * width, run * width);
+            from += run;
+            to += run;
+        }
+        size-= end - start;
+    }
+
+    /**
+     * Повертає частину списку в заданому діапазоні без копіювання елементів.
+     * Частина спільно використовує пам'ять зі списком, тому зміни елементів
+     * в одному з них видно в іншому
+     * @param start індекс початку діапазону(включно)
+     * @param end індекс кінця діапазону(виключно)
+     * @throws IllegalArgumentException якщо значення {@param start}
+     * не менше за значення {@param end}
+     * @throws IndexOutOfBoundsException якщо значення {@param end}
+     * більше за розмір списку, або значення {@param start}
+     * менше за 0
+     * @throws IllegalStateException якщо список закрито
+     */
+
+    public OffHeapArrayList<T> getSubList(int start, int end){
+        checkOpen();
+        if(end <= start){
+            throw new IllegalArgumentException();
+        }
+        if(end > size || start < 0){
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new OffHeapArrayList<>(owner, offset + start, end - start);
+    }
+
+    /**
+     * Закриває список, після чого він та всі його частини стають недоступними,
+     * і звільняє пам'ять блоків. Виклик для частини списку не має ефекту
+     */
+
+    @Override
+    public void close(){
+        if(owner == this && !closed){
+            closed = true;
+            ByteBuffer[] released = chunks;
+            int releasedCount = chunkCount;
+            chunks = null;
+            chunkCount = 0;
+            size = 0;
+            for (int i = 0; i < releasedCount; i++) {
+                free(released[i]);
+            }
+        }
+    }
+
+    /**
+     * Перевіряє чи пам'ять блоків звільняється під час закриття, а не збирачем сміття
+     * @return логічне {@code true}, якщо {@link #close()} звільняє пам'ять одразу,
+     * {@code false} - інакше
+     */
+
+    public static boolean releasesOnClose(){
+        return INVOKE_CLEANER != null;
+    }
+
+    private static void free(ByteBuffer chunk){
+        if(INVOKE_CLEANER == null){
+            return;
+        }
+        try{
+            INVOKE_CLEANER.invokeExact(chunk);
+        }catch(Throwable e){
+            throw new IllegalStateException("Не вдалося звільнити пам'ять блоку", e);
+        }
+    }
+
+    /**
+     * Знаходить метод {@code sun.misc.Unsafe#invokeCleaner} без залежності від внутрішнього API
+     * під час компіляції
+     * @return дескриптор методу, прив'язаний до екземпляра {@code Unsafe},
+     * або {@code null} якщо метод недоступний
+     */
+
+    private static MethodHandle findCleaner(){
+        try{
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field instance = unsafeClass.getDeclaredField("theUnsafe");
+            instance.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(instance.get(null));
+        }catch(ReflectiveOperationException | RuntimeException e){
+            return null;
+        }
+    }
+
+    private void write(int index, T element){
+        long position = offset + index;
+        codec.write(owner.chunks[(int) (position >>> chunkShift)], ((int) position & chunkMask) * width, element);
+    }
+
+    private static int checkWidth(RecordCodec<?> codec){
+        if(codec.width() < 1){
+            throw new IllegalArgumentException("Неприпустима довжина запису: " + codec.width());
+        }
+
+        return codec.width();
+    }
+
+    private void checkOpen(){
+        if(owner.closed){
+            throw new IllegalStateException("Список закрито");
+        }
+    }
+
+    private void checkOwner(){
+        checkOpen();
+        if(owner != this){
+            throw new UnsupportedOperationException("Неможливо змінити розмір частини списку");
+        }
+    }
+
+    @Override
+    public String toString() {
+        if(size == 0) return "[ ]";
+        StringBuilder result = new StringBuilder("[ ");
+        for (int i = 0; i < size - 1; i++) {
+            result.append(get(i)).append(", ");
+        }
+        result.append(get(size - 1)).append(" ]");
+
+        return result.toString();
+    }
+}
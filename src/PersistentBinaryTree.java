@@ -0,0 +1,446 @@
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Реалізація збалансованого бінарного дерева (AVL-дерева) з незмінними вузлами.
+ * <p>
+ * Зміни не модифікують існуючі вузли: додавання та видалення копіюють лише шлях
+ * від кореня до зміненого вузла (O(log n) вузлів), а решта дерева спільно використовується
+ * новою та попередніми версіями. Тому {@link #snapshot()} виконується за O(1) і повертає
+ * незмінний знімок, який можна читати та обходити з будь-якого потоку без блокувань,
+ * поки інший потік продовжує змінювати дерево.
+ * <p>
+ * Зміни дерева виконуються послідовно: методи {@link #add} та {@link #remove} синхронізовані.
+ * Як і в {@link BinaryTree}, дерево допускає повторювані ключі
+ * @param <K> параметр типу ключа, за яким знаходяться відповідні значення в бінарному дереві.
+ * Параметр ключа повинен реалізувати інтерфейс Comparable, для реалізації основних методів
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+public class PersistentBinaryTree<K extends Comparable<K>, V> {
+
+    private volatile Node<K, V> root;
+
+    private static final class Node<K, V> implements Map.Entry<K, V> {
+        final K key;
+        final V value;
+        final Node<K, V> leftChild, rightChild;
+        final int height;
+        final int size;
+
+        Node(Node<K, V> left, K key, V value, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.leftChild = left;
+            this.rightChild = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException("Вузли незмінного дерева не можна змінювати");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return "Node{" +
+                    "key=" + key +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+
+    /**
+     * Незмінний знімок дерева на момент виклику {@link PersistentBinaryTree#snapshot()}
+     * @param <K> параметр типу ключа
+     * @param <V> параметр типу значення
+     */
+
+    public static final class Snapshot<K extends Comparable<K>, V> implements Iterable<Map.Entry<K, V>> {
+
+        private final Node<K, V> root;
+
+        private Snapshot(Node<K, V> root) {
+            this.root = root;
+        }
+
+        /**
+         * Перевіряє чи знімок містить елементи
+         * @return логічне {@code true}, якщо знімок пустий, {@code false} - інакше
+         */
+
+        public boolean isEmpty(){
+            return root == null;
+        }
+
+        /**
+         * Повертає кількість елементів у знімку
+         * @return кількість елементів у знімку
+         */
+
+        public int size(){
+            return PersistentBinaryTree.size(root);
+        }
+
+        /**
+         * Знаходить значення за ключем
+         * @param key ключ, за яким відбувається пошук
+         * @return значення, якщо відповідна пара ключ-значення існує у знімку
+         * @throws NoSuchElementException якщо відповідної пари ключ-значення немає
+         */
+
+        public V get(K key){
+            return find(root, key).value;
+        }
+
+        /**
+         * Знаходить значення, яке відповідає мінімальному за величиною ключу
+         * @return значення, яке відповідає мінімальному за величиною ключу
+         * @throws NoSuchElementException якщо знімок пустий
+         */
+
+        public V min(){
+            if(root == null){
+                throw new NoSuchElementException("Неможливо знайти елемент так як дерево пусте");
+            }
+            Node<K, V> current = root;
+            while(current.leftChild != null){
+                current = current.leftChild;
+            }
+
+            return current.value;
+        }
+
+        /**
+         * Знаходить значення, яке відповідає максимальному за величиною ключу
+         * @return значення, яке відповідає максимальному за величиною ключу
+         * @throws NoSuchElementException якщо знімок пустий
+         */
+
+        public V max(){
+            if(root == null){
+                throw new NoSuchElementException("Неможливо знайти елемент так як дерево пусте");
+            }
+            Node<K, V> current = root;
+            while(current.rightChild != null){
+                current = current.rightChild;
+            }
+
+            return current.value;
+        }
+
+        /**
+         * Знаходить пару ключ-значення з k-м за величиною ключем за час O(log n)
+         * @param k позиція ключа в порядку зростання, починаючи з 0
+         * @return пара ключ-значення, ключ якої має {@code k} менших або рівних ключів перед собою
+         * @throws IndexOutOfBoundsException якщо значення {@param k}
+         * не менше за розмір знімка, або менше за 0
+         */
+
+        public Map.Entry<K, V> select(int k){
+            if(k < 0 || k >= size()){
+                throw new IndexOutOfBoundsException();
+            }
+            Node<K, V> current = root;
+            while(true){
+                int leftSize = PersistentBinaryTree.size(current.leftChild);
+                if(k < leftSize){
+                    current = current.leftChild;
+                }else if(k == leftSize){
+                    return current;
+                }else{
+                    k -= leftSize + 1;
+                    current = current.rightChild;
+                }
+            }
+        }
+
+        /**
+         * Підраховує кількість ключів, менших за заданий, за час O(log n)
+         * @param key ключ, з яким порівнюються ключі знімка; може бути відсутнім у знімку
+         * @return кількість ключів, строго менших за {@param key}
+         */
+
+        public int rank(K key){
+            int rank = 0;
+            Node<K, V> current = root;
+            while(current != null){
+                if(key.compareTo(current.key) <= 0){
+                    current = current.leftChild;
+                }else{
+                    rank += PersistentBinaryTree.size(current.leftChild) + 1;
+                    current = current.rightChild;
+                }
+            }
+
+            return rank;
+        }
+
+        /**
+         * Підраховує кількість ключів у напіввідкритому діапазоні за час O(log n)
+         * @param from початок діапазону(включно)
+         * @param to кінець діапазону(виключно)
+         * @return кількість ключів, не менших за {@param from} та строго менших за {@param to};
+         * {@code 0} якщо {@param from} не менший за {@param to}
+         */
+
+        public int countRange(K from, K to){
+            if(from.compareTo(to) >= 0){
+                return 0;
+            }
+
+            return rank(to) - rank(from);
+        }
+
+        /**
+         * Повертає ітератор по парах ключ-значення знімка в порядку зростання ключів
+         * @return ітератор по парах ключ-значення
+         */
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator(){
+            return new Iterator<Map.Entry<K, V>>() {
+                @SuppressWarnings("unchecked")
+                private final Node<K, V>[] stack = (Node<K, V>[]) new Node<?, ?>[height(root)];
+                private int depth = pushLeft(root, 0);
+
+                private int pushLeft(Node<K, V> node, int depth){
+                    for (Node<K, V> current = node; current != null; current = current.leftChild) {
+                        stack[depth++] = current;
+                    }
+
+                    return depth;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return depth > 0;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if(depth == 0){
+                        throw new NoSuchElementException();
+                    }
+                    Node<K, V> current = stack[--depth];
+                    depth = pushLeft(current.rightChild, depth);
+
+                    return current;
+                }
+            };
+        }
+
+        /**
+         * Повертає сплітератор по парах ключ-значення знімка в порядку зростання ключів
+         * @return сплітератор з характеристиками ORDERED, SIZED та IMMUTABLE
+         */
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator(){
+            return Spliterators.spliterator(iterator(), size(),
+                    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+        /**
+         * Повертає послідовний потік пар ключ-значення знімка в порядку зростання ключів
+         * @return потік пар ключ-значення
+         */
+
+        public Stream<Map.Entry<K, V>> stream(){
+            return StreamSupport.stream(spliterator(), false);
+        }
+    }
+
+    /**
+     * Перевіряє чи бінарне дерево містить елементи
+     * @return логічне {@code true}, якщо дане дерево пусте, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return root == null;
+    }
+
+    /**
+     * Повертає кількість елементів в бінарному дереві
+     * @return кількість елементів в бінарному дереві
+     */
+
+    public int size(){
+        return size(root);
+    }
+
+    /**
+     * Повертає висоту бінарного дерева
+     * @return кількість вузлів на найдовшому шляху від кореня до листа,
+     * {@code 0} якщо дерево пусте
+     */
+
+    public int height(){
+        return height(root);
+    }
+
+    /**
+     * Повертає незмінний знімок поточної версії дерева за час O(1)
+     * @return знімок дерева
+     */
+
+    public Snapshot<K, V> snapshot(){
+        return new Snapshot<>(root);
+    }
+
+    /**
+     * Знаходить значення в поточній версії дерева за ключем
+     * @param key ключ, за яким відбувається пошук
+     * @return значення, якщо відповідна пара ключ-значення існує в бінарному дереві
+     * @throws NoSuchElementException якщо відповідної пари ключ-значення немає в бінарному дереві
+     */
+
+    public V get(K key){
+        return find(root, key).value;
+    }
+
+    /**
+     * Додає пару ключ-значення, копіюючи вузли на шляху від кореня до місця вставки
+     * @param key ключ, який додається
+     * @param value значення, яке додається
+     */
+
+    public synchronized void add(K key, V value){
+        root = insert(root, key, value);
+    }
+
+    /**
+     * Видаляє пару ключ-значення, копіюючи вузли на шляху від кореня до видаленого вузла
+     * @param key ключ, за яким відбувається видалення пари
+     * @throws NoSuchElementException якщо відповідної пари ключ-значення немає в бінарному дереві
+     */
+
+    public synchronized void remove(K key){
+        root = delete(root, key);
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> find(Node<K, V> node, K key){
+        Node<K, V> current = node;
+        while(current != null){
+            int comparison = key.compareTo(current.key);
+            if(comparison < 0){
+                current = current.leftChild;
+            }else if(comparison > 0){
+                current = current.rightChild;
+            }else{
+                return current;
+            }
+        }
+
+        throw new NoSuchElementException("Не вдалося знайти заданий елемент");
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> insert(Node<K, V> node, K key, V value){
+        if(node == null){
+            return new Node<>(null, key, value, null);
+        }
+        if(key.compareTo(node.key) <= 0){
+            return balance(insert(node.leftChild, key, value), node.key, node.value, node.rightChild);
+        }
+
+        return balance(node.leftChild, node.key, node.value, insert(node.rightChild, key, value));
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> delete(Node<K, V> node, K key){
+        if(node == null){
+            throw new NoSuchElementException("Не вдалося знайти заданий елемент");
+        }
+        int comparison = key.compareTo(node.key);
+        if(comparison < 0){
+            return balance(delete(node.leftChild, key), node.key, node.value, node.rightChild);
+        }
+        if(comparison > 0){
+            return balance(node.leftChild, node.key, node.value, delete(node.rightChild, key));
+        }
+        if(node.leftChild == null){
+            return node.rightChild;
+        }
+        if(node.rightChild == null){
+            return node.leftChild;
+        }
+        Node<K, V> successor = node.rightChild;
+        while(successor.leftChild != null){
+            successor = successor.leftChild;
+        }
+
+        return balance(node.leftChild, successor.key, successor.value, deleteMin(node.rightChild));
+    }
+
+    private static <K, V> Node<K, V> deleteMin(Node<K, V> node){
+        if(node.leftChild == null){
+            return node.rightChild;
+        }
+
+        return balance(deleteMin(node.leftChild), node.key, node.value, node.rightChild);
+    }
+
+    /**
+     * Створює вузол з заданими піддеревами, виконуючи поворот,
+     * якщо їх висоти відрізняються більше ніж на 1
+     */
+
+    private static <K, V> Node<K, V> balance(Node<K, V> left, K key, V value, Node<K, V> right){
+        if(height(left) > height(right) + 1){
+            if(height(left.leftChild) >= height(left.rightChild)){
+                return new Node<>(left.leftChild, left.key, left.value,
+                        new Node<>(left.rightChild, key, value, right));
+            }
+            Node<K, V> pivot = left.rightChild;
+            return new Node<>(new Node<>(left.leftChild, left.key, left.value, pivot.leftChild),
+                    pivot.key, pivot.value, new Node<>(pivot.rightChild, key, value, right));
+        }
+        if(height(right) > height(left) + 1){
+            if(height(right.rightChild) >= height(right.leftChild)){
+                return new Node<>(new Node<>(left, key, value, right.leftChild),
+                        right.key, right.value, right.rightChild);
+            }
+            Node<K, V> pivot = right.leftChild;
+            return new Node<>(new Node<>(left, key, value, pivot.leftChild),
+                    pivot.key, pivot.value, new Node<>(pivot.rightChild, right.key, right.value, right.rightChild));
+        }
+
+        return new Node<>(left, key, value, right);
+    }
+
+    private static int height(Node<?, ?> node){
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node){
+        return node == null ? 0 : node.size;
+    }
+}
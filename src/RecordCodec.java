@@ -0,0 +1,99 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Кодек записів фіксованої довжини.
+ * Перетворює елементи у байти буфера та навпаки для структур даних,
+ * що зберігають елементи поза купою
+ * @param <T> параметр типу елементів, які кодуються
+ */
+
+public interface RecordCodec<T> {
+
+    /**
+     * Кодек для значень типу {@link Integer}
+     */
+
+    RecordCodec<Integer> INT = new RecordCodec<Integer>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Кодек для значень типу {@link Long}
+     */
+
+    RecordCodec<Long> LONG = new RecordCodec<Long>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Кодек для значень типу {@link Double}
+     */
+
+    RecordCodec<Double> DOUBLE = new RecordCodec<Double>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double value) {
+            buffer.putDouble(offset, value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    /**
+     * Повертає довжину одного запису
+     * @return кількість байтів, яку займає один запис
+     */
+
+    int width();
+
+    /**
+     * Записує елемент у буфер
+     * @param buffer буфер, у який записується елемент
+     * @param offset позиція першого байта запису в буфері
+     * @param value елемент, який записується
+     */
+
+    void write(ByteBuffer buffer, int offset, T value);
+
+    /**
+     * Читає елемент з буфера
+     * @param buffer буфер, з якого читається елемент
+     * @param offset позиція першого байта запису в буфері
+     * @return прочитаний елемент
+     */
+
+    T read(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,308 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Реалізація списку, елементи якого зберігаються в сегментах однакового розміру.
+ * Розширення списку додає новий сегмент, не копіюючи вже записані елементи,
+ * тому час додавання в кінець не має стрибків, а окремі масиви залишаються
+ * достатньо малими, щоб збирач сміття не розміщував їх як величезні об'єкти.
+ * <p>
+ * Розмір сегмента є степенем двійки, тому позиція елемента обчислюється зсувом та маскою
+ * @param <T> параметр типу елементів списку
+ */
+
+@SuppressWarnings("unchecked")
+public class SegmentedArrayList<T> implements Iterable<T> {
+
+    private static final int DEFAULT_SEGMENT_LENGTH = 1 << 14;
+
+    private final int segmentShift;
+    private final int segmentMask;
+    private T[][] segments;
+    private int segmentCount;
+    private int size;
+
+    /**
+     * Створює список з сегментами по 16384 елементи
+     */
+
+    public SegmentedArrayList(){
+        this(DEFAULT_SEGMENT_LENGTH);
+    }
+
+    /**
+     * Створює список з заданим розміром сегмента
+     * @param segmentLength мінімальна кількість елементів в одному сегменті,
+     * округлюється до найближчого степеня двійки
+     * @throws IllegalArgumentException якщо значення {@param segmentLength}
+     * менше за 1 або більше за 2^30
+     */
+
+    public SegmentedArrayList(int segmentLength){
+        if(segmentLength < 1 || segmentLength > 1 << 30){
+            throw new IllegalArgumentException("Неприпустимий розмір сегмента: " + segmentLength);
+        }
+        int powerOfTwo = Integer.highestOneBit(segmentLength);
+        if(powerOfTwo < segmentLength){
+            powerOfTwo <<= 1;
+        }
+        segmentShift = Integer.numberOfTrailingZeros(powerOfTwo);
+        segmentMask = powerOfTwo - 1;
+        segments = (T[][]) new Object[4][];
+    }
+
+    /**
+     * Повертає кількість елементів в списку
+     * @return кількість елементів в списку
+     */
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Перевіряє чи список містить елементи
+     * @return логічне {@code true}, якщо даний список пустий, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Повертає кількість елементів, яку список вміщує без виділення нових сегментів
+     * @return місткість списку
+     */
+
+    public long capacity(){
+        return (long) segmentCount << segmentShift;
+    }
+
+    /**
+     * Виділяє сегменти, якщо нинішня місткість менша за {@code capacity}
+     * @param capacity нова місткість списку
+     */
+
+    public void ensureCapacity(int capacity){
+        while(capacity() < capacity){
+            if(segmentCount == segments.length){
+                segments = Arrays.copyOf(segments, 2 * segments.length);
+            }
+            segments[segmentCount++] = (T[]) new Object[segmentMask + 1];
+        }
+    }
+
+    /**
+     * Звільняє сегменти, що не містять елементів
+     */
+
+    public void trimToSize(){
+        int used = (size + segmentMask) >>> segmentShift;
+        Arrays.fill(segments, used, segmentCount, null);
+        segmentCount = used;
+    }
+
+    /**
+     * Додає заданий елемент в кінець списку
+     * @param element елемент, який додається
+     */
+
+    public void add(T element){
+        ensureCapacity(size + 1);
+        segments[size >>> segmentShift][size & segmentMask] = element;
+        size++;
+    }
+
+    /**
+     * Додає заданий елемент в список на задану позицію,
+     * зсуваючи наступні елементи через межі сегментів
+     * @param element елемент, який додається
+     * @param index позиція в списку, на яку додається елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * більше за розмір списку, або менше за 0
+     */
+
+    public void add(T element, int index){
+        if(index < 0 || index > size){
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(size + 1);
+        int first = index >>> segmentShift;
+        int last = size >>> segmentShift;
+        for (int s = last; s > first; s--) {
+            T[] segment = segments[s];
+            System.arraycopy(segment, 0, segment, 1, s == last ? size & segmentMask : segmentMask);
+            segment[0] = segments[s - 1][segmentMask];
+        }
+        T[] segment = segments[first];
+        int offset = index & segmentMask;
+        int end = first == last ? size & segmentMask : segmentMask;
+        System.arraycopy(segment, offset, segment, offset + 1, end - offset);
+        segment[offset] = element;
+        size++;
+    }
+
+    /**
+     * Повертає елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @return елемент на позиції {@param index}
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public T get(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+
+        return segments[index >>> segmentShift][index & segmentMask];
+    }
+
+    /**
+     * Замінює елемент, що знаходиться на відповідній позиції
+     * @param index позиція елемента в списку
+     * @param element новий елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void set(int index, T element){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        segments[index >>> segmentShift][index & segmentMask] = element;
+    }
+
+    /**
+     * Перевіряє чи список містить заданий елемент
+     * @param element елемент, наявність якого потрібно знайти
+     * @return логічне {@code true} якщо елемент наявний в списку,
+     * {@code false} - інакше
+     */
+
+    public boolean contains(T element){
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Знаходить позицію елемента в списку
+     * @param element елемент, позицію в списку якого потрібно знайти
+     * @return позицію в списку, на якій знаходиться {@param element}
+     * @throws NoSuchElementException якщо елемент не знайдено
+     */
+
+    public int find(T element){
+        int index = indexOf(element);
+        if(index < 0){
+            throw new NoSuchElementException("Даний елемент не знайдено");
+        }
+
+        return index;
+    }
+
+    /**
+     * Видаляє елемент на відповідній позиції зі списку,
+     * зсуваючи наступні елементи через межі сегментів
+     * @param index позиція, на якій видаляється елемент
+     * @throws IndexOutOfBoundsException якщо значення {@param index}
+     * не менше за розмір списку, або менше за 0
+     */
+
+    public void remove(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException();
+        }
+        int first = index >>> segmentShift;
+        int last = (size - 1) >>> segmentShift;
+        int lastOffset = (size - 1) & segmentMask;
+        T[] segment = segments[first];
+        int offset = index & segmentMask;
+        System.arraycopy(segment, offset + 1, segment, offset, (first == last ? lastOffset : segmentMask) - offset);
+        for (int s = first + 1; s <= last; s++) {
+            T[] next = segments[s];
+            segments[s - 1][segmentMask] = next[0];
+            System.arraycopy(next, 1, next, 0, s == last ? lastOffset : segmentMask);
+        }
+        segments[last][lastOffset] = null;
+        size--;
+    }
+
+    /**
+     * Повертає ітератор по елементах списку в порядку їх розташування
+     * @return ітератор по елементах списку
+     */
+
+    @Override
+    public Iterator<T> iterator(){
+        return new Iterator<T>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if(cursor >= size){
+                    throw new NoSuchElementException();
+                }
+                T element = segments[cursor >>> segmentShift][cursor & segmentMask];
+                cursor++;
+
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Повертає сплітератор по елементах списку в порядку їх розташування
+     * @return сплітератор з характеристиками ORDERED та SIZED
+     */
+
+    @Override
+    public Spliterator<T> spliterator(){
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Повертає послідовний потік елементів списку
+     * @return потік елементів списку
+     */
+
+    public Stream<T> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private int indexOf(T element){
+        for (long base = 0; base < size; base += segmentMask + 1) {
+            T[] segment = segments[(int) (base >>> segmentShift)];
+            int length = (int) Math.min(segmentMask + 1, size - base);
+            for (int i = 0; i < length; i++) {
+                if(Objects.equals(segment[i], element)){
+                    return (int) base + i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        if(size == 0) return "[ ]";
+        StringBuilder result = new StringBuilder("[ ");
+        for (int i = 0; i < size - 1; i++) {
+            result.append(get(i)).append(", ");
+        }
+        result.append(get(size - 1)).append(" ]");
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,245 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Обмежена колекція {@code k} пар ключ-значення з найбільшими ключами серед усіх запропонованих.
+ * Пари зберігаються в двійковій кучі {@link Heap} з оберненим порядком ключів, тому в корені
+ * знаходиться найменший з відібраних ключів. Нова пара порівнюється з коренем за O(1) і,
+ * якщо вона більша, замінює корінь за O(log k), тому обробка потоку подій потребує O(k) пам'яті
+ * незалежно від його довжини.
+ * <p>
+ * Часткові результати, зібрані в різних потоках, об'єднуються методом {@link #merge(TopK)},
+ * на якому побудований {@link #collector(int, Function)} для паралельних потоків
+ * @param <K> параметр типу ключа, за яким відбираються пари
+ * @param <V> параметр типу значення, яке знаходиться за відповідним ключем
+ */
+
+public class TopK<K extends Comparable<K>, V> {
+
+    /**
+     * Пара ключ-значення, порядок якої обернений до порядку ключів
+     */
+
+    private static final class Entry<K extends Comparable<K>, V> implements Comparable<Entry<K, V>>, Map.Entry<K, V> {
+        final K key;
+        final V value;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Entry<K, V> other) {
+            return other.key.compareTo(key);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException("Відібрані пари не можна змінювати");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private final int k;
+    private final Heap<Entry<K, V>, Entry<K, V>> heap;
+
+    /**
+     * Створює колекцію, що зберігає {@code k} пар з найбільшими ключами
+     * @param k максимальна кількість пар, які зберігаються
+     * @throws IllegalArgumentException якщо значення {@param k} менше за 1
+     */
+
+    public TopK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Кількість елементів повинна бути додатньою");
+        }
+        this.k = k;
+        heap = new Heap<>(k);
+    }
+
+    /**
+     * Повертає максимальну кількість пар, які зберігає колекція
+     * @return значення {@code k}
+     */
+
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Повертає кількість відібраних пар
+     * @return кількість відібраних пар, не більша за {@code k}
+     */
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Перевіряє чи колекція містить відібрані пари
+     * @return логічне {@code true}, якщо колекція пуста, {@code false} - інакше
+     */
+
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Повертає найменший з відібраних ключів. Поки колекція заповнена,
+     * пари з меншими або рівними ключами не приймаються
+     * @return найменший з відібраних ключів
+     * @throws NoSuchElementException якщо колекція пуста
+     */
+
+    public K threshold() {
+        return heap.peekKey().key;
+    }
+
+    /**
+     * Пропонує пару ключ-значення. Пара відбирається, якщо колекція ще не заповнена
+     * або її ключ більший за найменший з відібраних ключів, який тоді витісняється
+     * @param key ключ пари
+     * @param value значення пари
+     * @return логічне {@code true}, якщо пару відібрано, {@code false} - інакше
+     */
+
+    public boolean offer(K key, V value) {
+        if (heap.size() == k && key.compareTo(heap.peekKey().key) <= 0) {
+            return false;
+        }
+
+        return offer(new Entry<>(key, value));
+    }
+
+    private boolean offer(Entry<K, V> entry) {
+        if (heap.size() < k) {
+            heap.add(entry, entry);
+        } else if (entry.key.compareTo(heap.peekKey().key) > 0) {
+            heap.replaceTop(entry, entry);
+        } else {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Додає до цієї колекції пари, відібрані іншою колекцією.
+     * Результат містить {@code k} пар з найбільшими ключами серед пар, запропонованих обом колекціям
+     * @param other колекція, пари якої додаються; не змінюється
+     * @return ця колекція
+     */
+
+    public TopK<K, V> merge(TopK<K, V> other) {
+        for (Entry<K, V> entry : other.heap) {
+            offer(entry);
+        }
+
+        return this;
+    }
+
+    /**
+     * Повертає відібрані пари в порядку спадання ключів, не змінюючи колекцію
+     * @return список відібраних пар
+     */
+
+    @SuppressWarnings("unchecked")
+    public ArrayList<Map.Entry<K, V>> toSortedList() {
+        Map.Entry<K, V>[] entries = (Map.Entry<K, V>[]) new Map.Entry<?, ?>[heap.size()];
+        int i = 0;
+        for (Entry<K, V> entry : heap) {
+            entries[i++] = entry;
+        }
+        Arrays.sort(entries, Map.Entry.<K, V>comparingByKey().reversed());
+
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Створює колектор, що відбирає {@code k} елементів потоку з найбільшими ключами.
+     * В паралельному потоці кожна частина збирається в окрему колекцію,
+     * які потім об'єднуються методом {@link #merge(TopK)}
+     * @param k максимальна кількість елементів, які відбираються
+     * @param keyFunction функція, що обчислює ключ елемента
+     * @param <T> параметр типу елементів потоку
+     * @param <K> параметр типу ключа
+     * @return колектор, результатом якого є колекція відібраних елементів
+     * @throws IllegalArgumentException якщо значення {@param k} менше за 1
+     */
+
+    public static <T, K extends Comparable<K>> Collector<T, ?, TopK<K, T>> collector(
+            int k, Function<? super T, ? extends K> keyFunction) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Кількість елементів повинна бути додатньою");
+        }
+        Objects.requireNonNull(keyFunction);
+        return new Collector<T, TopK<K, T>, TopK<K, T>>() {
+            @Override
+            public Supplier<TopK<K, T>> supplier() {
+                return () -> new TopK<>(k);
+            }
+
+            @Override
+            public BiConsumer<TopK<K, T>, T> accumulator() {
+                return (topK, element) -> topK.offer(keyFunction.apply(element), element);
+            }
+
+            @Override
+            public BinaryOperator<TopK<K, T>> combiner() {
+                return TopK::merge;
+            }
+
+            @Override
+            public Function<TopK<K, T>, TopK<K, T>> finisher() {
+                return Function.identity();
+            }
+
+            @Override
+            public Set<Characteristics> characteristics() {
+                return Collections.unmodifiableSet(EnumSet.of(Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return toSortedList().toString();
+    }
+}
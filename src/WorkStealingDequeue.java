@@ -0,0 +1,219 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Реалізація неблокуючої двобічної черги для розподілу задач між потоками
+ * (алгоритм Chase-Lev).
+ * <p>
+ * Черга має потік-власника, який вставляє та забирає елементи з хвоста
+ * ({@link #offerLast}, {@link #pollLast}, {@link #peekLast}, {@link #removeLast}).
+ * Решта потоків можуть лише забирати елементи з голови черги
+ * ({@link #pollFirst}, {@link #peekFirst}, {@link #removeFirst}).
+ * Жодна з операцій не використовує блокувань: власник конкурує з іншими потоками
+ * лише за останній елемент, а потоки між собою - за голову черги через CAS
+ * @param <T> параметр типу елементів черги
+ */
+
+public class WorkStealingDequeue<T> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicLong top = new AtomicLong();
+    private volatile long bottom;
+    private volatile AtomicReferenceArray<T> elements;
+
+    /**
+     * Створює чергу з місткістю в 64 елементи
+     */
+
+    public WorkStealingDequeue(){
+        this(64);
+    }
+
+    /**
+     * Створює чергу з заданою місткістю, округленою до найближчого степеня двійки
+     * @param capacity мінімальна місткість створюваної черги
+     * @throws IllegalArgumentException якщо значення {@param capacity}
+     * менше за 2 або більше за 2^30
+     */
+
+    public WorkStealingDequeue(int capacity){
+        if(capacity < 2 || capacity > MAX_CAPACITY){
+            throw new IllegalArgumentException("Неприпустима місткість черги: " + capacity);
+        }
+        int powerOfTwo = Integer.highestOneBit(capacity);
+        if(powerOfTwo < capacity){
+            powerOfTwo <<= 1;
+        }
+        elements = new AtomicReferenceArray<>(powerOfTwo);
+    }
+
+    /**
+     * Повертає кількість елементів в черзі. За наявності конкурентних змін
+     * результат є наближеним
+     * @return кількість елементів в черзі
+     */
+
+    public int size(){
+        long size = bottom - top.get();
+        return size < 0 ? 0 : (int) size;
+    }
+
+    /**
+     * Перевіряє чи черга містить елементи
+     * @return логічне {@code true}, якщо даний черга пуста, {@code false} - інакше
+     */
+
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    /**
+     * Вставляє заданий елемент у хвіст черги. Викликається лише потоком-власником
+     * @param item елемент, який вставляється
+     * @throws NullPointerException якщо елемент дорівнює {@code null}
+     * @throws IllegalStateException якщо черга досягла максимальної місткості
+     */
+
+    public void offerLast(T item){
+        if(item == null){
+            throw new NullPointerException("Черга не підтримує елементи null");
+        }
+        long b = bottom;
+        long t = top.get();
+        AtomicReferenceArray<T> array = elements;
+        if(b - t >= array.length() - 1){
+            array = grow(array, t, b);
+        }
+        array.set((int) b & (array.length() - 1), item);
+        bottom = b + 1;
+    }
+
+    /**
+     * Видаляє елемент із хвоста черги. Викликається лише потоком-власником
+     * @return елемент, що був видалений якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T pollLast(){
+        long b = bottom - 1;
+        AtomicReferenceArray<T> array = elements;
+        bottom = b;
+        long t = top.get();
+        if(t > b){
+            bottom = b + 1;
+            return null;
+        }
+
+        int index = (int) b & (array.length() - 1);
+        T item = array.get(index);
+        if(t == b){
+            if(!top.compareAndSet(t, t + 1)){
+                item = null;
+            }
+            bottom = b + 1;
+        }else{
+            array.set(index, null);
+        }
+
+        return item;
+    }
+
+    /**
+     * Видаляє елемент із голови черги. Може викликатися будь-яким потоком
+     * @return елемент, що був видалений якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T pollFirst(){
+        while(true){
+            long t = top.get();
+            long b = bottom;
+            if(t >= b){
+                return null;
+            }
+
+            AtomicReferenceArray<T> array = elements;
+            T item = array.get((int) t & (array.length() - 1));
+            if(top.compareAndSet(t, t + 1)){
+                return item;
+            }
+        }
+    }
+
+    /**
+     * Видаляє елемент із хвоста черги. Викликається лише потоком-власником
+     * @return елемент, що був видалений
+     * @throws NoSuchElementException якщо черга пуста
+     */
+
+    public T removeLast(){
+        T removed = pollLast();
+        if(removed == null){
+            throw new NoSuchElementException("Неможливо видалити елемент, так як черга пуста");
+        }
+
+        return removed;
+    }
+
+    /**
+     * Видаляє елемент із голови черги. Може викликатися будь-яким потоком
+     * @return елемент, що був видалений
+     * @throws NoSuchElementException якщо черга пуста
+     */
+
+    public T removeFirst(){
+        T removed = pollFirst();
+        if(removed == null){
+            throw new NoSuchElementException("Неможливо видалити елемент, так як черга пуста");
+        }
+
+        return removed;
+    }
+
+    /**
+     * Повертає елемент із голови черги, не видаляючи його. Може викликатися будь-яким потоком
+     * @return елемент, якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T peekFirst(){
+        long t = top.get();
+        long b = bottom;
+        if(t >= b){
+            return null;
+        }
+        AtomicReferenceArray<T> array = elements;
+
+        return array.get((int) t & (array.length() - 1));
+    }
+
+    /**
+     * Повертає елемент із хвоста черги, не видаляючи його. Викликається лише потоком-власником
+     * @return елемент, якщо черга не пуста, {@code null} - інакше
+     */
+
+    public T peekLast(){
+        long b = bottom;
+        if(top.get() >= b){
+            return null;
+        }
+        AtomicReferenceArray<T> array = elements;
+
+        return array.get((int) (b - 1) & (array.length() - 1));
+    }
+
+    private AtomicReferenceArray<T> grow(AtomicReferenceArray<T> array, long t, long b){
+        if(array.length() == MAX_CAPACITY){
+            throw new IllegalStateException("Черга досягла максимальної місткості");
+        }
+
+        AtomicReferenceArray<T> newArray = new AtomicReferenceArray<>(array.length() << 1);
+        int oldMask = array.length() - 1;
+        int newMask = newArray.length() - 1;
+        for(long i = t; i < b; i++){
+            newArray.set((int) i & newMask, array.get((int) i & oldMask));
+        }
+        elements = newArray;
+
+        return newArray;
+    }
+}
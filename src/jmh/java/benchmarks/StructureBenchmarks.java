@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH-бенчмарки структур даних. Сценарії не дублюються: кожен запуск бере сценарій
+ * з реєстру {@code Benchmarks} за ім'ям, тому результати JMH та простого запуску
+ * вимірюють один і той самий код.
+ * <p>
+ * JMH не приймає бенчмарки в пакеті за замовчуванням, а класи з іменованого пакета
+ * не можуть посилатися на класи пакета за замовчуванням, тому реєстр знаходиться через
+ * рефлексію один раз під час підготовки. Вимірюваний виклик рефлексії не використовує.
+ * <p>
+ * Результатом є пропускна здатність: кількість викликів за секунду. Один виклик виконує
+ * {@code size} елементарних операцій, тому кількість операцій за секунду дорівнює
+ * результату, помноженому на {@code size}, а виділена пам'ять на одну операцію -
+ * значенню {@code gc.alloc.rate.norm}, поділеному на {@code size}.
+ * Окремі сценарії та розміри вибираються параметрами, наприклад
+ * {@code -p benchmark=TreeMap.put/remove -p size=10000000}
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class StructureBenchmarks {
+
+    @Param({
+            "ArrayList.add", "j.u.ArrayList.add", "ArrayList.get", "j.u.ArrayList.get",
+            "ArrayList.remove", "j.u.ArrayList.remove",
+            "LinkedDequeue.offer/poll", "ArrayDequeue.offer/poll", "ArrayDeque.offer/poll",
+            "Heap.add/poll", "DaryHeap(4).add/poll", "DaryHeap(8).add/poll", "PriorityQueue.add/poll",
+            "BinaryTree(balanced).add", "BinaryTree(balanced).get", "TreeMap.put", "TreeMap.get",
+            "BinaryTree(balanced).add/remove", "TreeMap.put/remove",
+            "GenericContainer.set/get", "Object[].set/get"
+    })
+    public String benchmark;
+
+    @Param({"1000", "1000000", "10000000"})
+    public int size;
+
+    private LongSupplier op;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        op = (LongSupplier) Class.forName("Benchmarks")
+                .getMethod("prepare", String.class, int.class)
+                .invoke(null, benchmark, size);
+        if (op == null) {
+            throw new IllegalStateException("Сценарій " + benchmark + " не виконується на розмірі " + size);
+        }
+    }
+
+    @Benchmark
+    public long run() {
+        return op.getAsLong();
+    }
+}